@@ -0,0 +1,283 @@
+/*
+ * The MIT License
+ * Copyright (c) 2018 sciencesakura
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.sciencesakura.dbunit.dataset.bean.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Generates a {@code BeanTableAdapter} for each class annotated with {@code BeanTableSource}.
+ */
+public class BeanTableSourceProcessor extends AbstractProcessor {
+
+    private static final String PACKAGE = "com.github.sciencesakura.dbunit.dataset.bean";
+
+    private static final String ANNOTATION = PACKAGE + ".BeanTableSource";
+
+    private static final String ADAPTER = PACKAGE + ".BeanTableAdapter";
+
+    private static final String SUFFIX = "_BeanTableAdapter";
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Collections.singleton(ANNOTATION);
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() != ElementKind.CLASS) {
+                    error(element, "@BeanTableSource is applicable only to classes");
+                    continue;
+                }
+                TypeElement type = (TypeElement) element;
+                if (!type.getModifiers().contains(Modifier.PUBLIC)) {
+                    error(element, "@BeanTableSource class must be public");
+                    continue;
+                }
+                try {
+                    generate(type);
+                } catch (IOException e) {
+                    error(element, "failed to generate adapter: " + e.getMessage());
+                }
+            }
+        }
+        return true;
+    }
+
+    private void generate(TypeElement type) throws IOException {
+        Elements elements = processingEnv.getElementUtils();
+        Types types = processingEnv.getTypeUtils();
+        PackageElement pkg = elements.getPackageOf(type);
+        String packageName = pkg.getQualifiedName().toString();
+        String binaryName = elements.getBinaryName(type).toString();
+        String adapterName = mangle(packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1))
+            + SUFFIX;
+        String beanName = types.erasure(type.asType()).toString();
+        Map<String, Property> properties = findProperties(type, types);
+
+        Filer filer = processingEnv.getFiler();
+        try (PrintWriter out = new PrintWriter(filer.createSourceFile(
+            packageName.isEmpty() ? adapterName : packageName + "." + adapterName, type).openWriter())) {
+            if (!packageName.isEmpty()) {
+                out.println("package " + packageName + ";");
+                out.println();
+            }
+            out.println("/**");
+            out.println(" * Generated by " + getClass().getName() + " for {@link " + beanName + "}.");
+            out.println(" */");
+            out.println("public final class " + adapterName + " implements " + ADAPTER + "<" + beanName + "> {");
+            out.println();
+            out.println("    private static final String[] NAMES = {");
+            for (Property p : properties.values()) {
+                out.println("        \"" + p.name + "\",");
+            }
+            out.println("    };");
+            out.println();
+            out.println("    private static final Class<?>[] TYPES = {");
+            for (Property p : properties.values()) {
+                out.println("        " + p.type + ".class,");
+            }
+            out.println("    };");
+            out.println();
+            out.println("    private static final Class<?>[] DECLARING_CLASSES = {");
+            for (Property p : properties.values()) {
+                out.println("        " + p.declaringClass + ".class,");
+            }
+            out.println("    };");
+            out.println();
+            out.println("    @Override");
+            out.println("    public int size() {");
+            out.println("        return " + properties.size() + ";");
+            out.println("    }");
+            out.println();
+            out.println("    @Override");
+            out.println("    public String getPropertyName(int index) {");
+            out.println("        return NAMES[index];");
+            out.println("    }");
+            out.println();
+            out.println("    @Override");
+            out.println("    public Class<?> getPropertyType(int index) {");
+            out.println("        return TYPES[index];");
+            out.println("    }");
+            out.println();
+            out.println("    @Override");
+            out.println("    public Class<?> getDeclaringClass(int index) {");
+            out.println("        return DECLARING_CLASSES[index];");
+            out.println("    }");
+            out.println();
+            out.println("    @Override");
+            out.println("    public Object getValue(" + beanName + " bean, int index) {");
+            out.println("        switch (index) {");
+            int i = 0;
+            for (Property p : properties.values()) {
+                out.println("            case " + i++ + ":");
+                if (!p.throwsChecked) {
+                    out.println("                return bean." + p.readMethod + "();");
+                    continue;
+                }
+                out.println("                try {");
+                out.println("                    return bean." + p.readMethod + "();");
+                out.println("                } catch (RuntimeException | Error e) {");
+                out.println("                    throw e;");
+                out.println("                } catch (Throwable e) {");
+                out.println("                    throw new " + ADAPTER + ".ReadMethodException(e);");
+                out.println("                }");
+            }
+            out.println("            default:");
+            out.println("                throw new IndexOutOfBoundsException(String.valueOf(index));");
+            out.println("        }");
+            out.println("    }");
+            out.println();
+            out.println("}");
+        }
+    }
+
+    private Map<String, Property> findProperties(TypeElement type, Types types) {
+        DeclaredType declaredType = (DeclaredType) type.asType();
+        Map<String, Property> properties = new TreeMap<String, Property>();
+        Elements elements = processingEnv.getElementUtils();
+        for (ExecutableElement method : ElementFilter.methodsIn(elements.getAllMembers(type))) {
+            Set<Modifier> modifiers = method.getModifiers();
+            if (!modifiers.contains(Modifier.PUBLIC) || modifiers.contains(Modifier.STATIC)) continue;
+            if (!method.getParameters().isEmpty() || !method.getTypeParameters().isEmpty()) continue;
+            TypeElement declaringClass = (TypeElement) method.getEnclosingElement();
+            if (declaringClass.getKind().isInterface()) continue;
+            if (declaringClass.getQualifiedName().contentEquals("java.lang.Object")) continue;
+            if (!declaringClass.getModifiers().contains(Modifier.PUBLIC)
+                && !elements.getPackageOf(declaringClass).equals(elements.getPackageOf(type))) {
+                declaringClass = type;
+            }
+            TypeMirror returnType = ((ExecutableType) types.asMemberOf(declaredType, method)).getReturnType();
+            String methodName = method.getSimpleName().toString();
+            String name;
+            boolean is = false;
+            if (methodName.startsWith("get") && 3 < methodName.length()) {
+                if (returnType.getKind() == TypeKind.VOID) continue;
+                name = decapitalize(methodName.substring(3));
+            } else if (methodName.startsWith("is") && 2 < methodName.length()) {
+                if (returnType.getKind() != TypeKind.BOOLEAN) continue;
+                name = decapitalize(methodName.substring(2));
+                is = true;
+            } else {
+                continue;
+            }
+            Property existing = properties.get(name);
+            if (existing != null && (existing.is || !is)) continue;
+            properties.put(name, new Property(name, methodName, types.erasure(returnType).toString(),
+                types.erasure(declaringClass.asType()).toString(), is, throwsChecked(method, types, elements)));
+        }
+        return properties;
+    }
+
+    private static boolean throwsChecked(ExecutableElement method, Types types, Elements elements) {
+        TypeMirror runtimeException = elements.getTypeElement("java.lang.RuntimeException").asType();
+        TypeMirror error = elements.getTypeElement("java.lang.Error").asType();
+        for (TypeMirror thrownType : method.getThrownTypes()) {
+            if (!types.isSubtype(thrownType, runtimeException) && !types.isSubtype(thrownType, error)) return true;
+        }
+        return false;
+    }
+
+    private static String mangle(String name) {
+        // escapes '_' as well as '$' so that Outer$Inner and Outer_Inner get distinct adapters
+        StringBuilder mangled = new StringBuilder(name.length() + 8);
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (c == '_') {
+                mangled.append("_1");
+            } else if (c == '$') {
+                mangled.append("_0");
+            } else {
+                mangled.append(c);
+            }
+        }
+        return mangled.toString();
+    }
+
+    private static String decapitalize(String name) {
+        if (1 < name.length() && Character.isUpperCase(name.charAt(1)) && Character.isUpperCase(name.charAt(0))) {
+            return name;
+        }
+        return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    private static final class Property {
+
+        private final String name;
+
+        private final String readMethod;
+
+        private final String type;
+
+        private final String declaringClass;
+
+        private final boolean is;
+
+        private final boolean throwsChecked;
+
+        private Property(String name, String readMethod, String type, String declaringClass, boolean is,
+                         boolean throwsChecked) {
+            this.name = name;
+            this.readMethod = readMethod;
+            this.type = type;
+            this.declaringClass = declaringClass;
+            this.is = is;
+            this.throwsChecked = throwsChecked;
+        }
+
+    }
+
+}
@@ -0,0 +1,112 @@
+/*
+ * The MIT License
+ * Copyright (c) 2018 sciencesakura
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.sciencesakura.dbunit.dataset.bean;
+
+import org.dbunit.Assertion;
+import org.dbunit.DatabaseUnitException;
+import org.dbunit.dataset.ITable;
+import org.dbunit.dataset.csv.CsvDataSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link Assertion#assertEquals(ITable, ITable)} of a {@link BeanTable} against a table of a
+ * {@link CsvDataSet}, as {@code BeanTableTest} does.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AssertionBenchmark {
+
+    @Param({"10000"})
+    private int rows;
+
+    @Param({"false", "true"})
+    private boolean snapshot;
+
+    private File directory;
+
+    private ITable expected;
+
+    private BeanTable<BenchBean> actual;
+
+    @Setup
+    public void setUp() throws IOException, DatabaseUnitException {
+        List<BenchBean> beans = BenchBean.list(rows);
+        directory = Files.createTempDirectory("bench").toFile();
+        try (PrintWriter out = new PrintWriter(new File(directory, "bench_bean.csv"), StandardCharsets.UTF_8.name())) {
+            out.println("active,amount,created_at,id,name,price,rate");
+            for (BenchBean bean : beans) {
+                out.println(bean.isActive() + "," + bean.getAmount() + ",\"" + bean.getCreatedAt() + "\"," + bean.getId()
+                    + ",\"" + bean.getName() + "\"," + bean.getPrice().toPlainString() + "," + bean.getRate());
+            }
+        }
+        try (PrintWriter out = new PrintWriter(new File(directory, "table-ordering.txt"), StandardCharsets.UTF_8.name())) {
+            out.println("bench_bean");
+        }
+        expected = new CsvDataSet(directory).getTable("bench_bean");
+        BeanTable.Builder<BenchBean> builder = new BeanTable.Builder<BenchBean>(BenchBean.class, "bench_bean")
+            .naming(Naming.CAMEL_TO_SNAKE)
+            .add(beans);
+        if (snapshot) builder.snapshot();
+        actual = builder.build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        directory.delete();
+    }
+
+    @Benchmark
+    public void assertEquals() throws DatabaseUnitException {
+        Assertion.assertEquals(expected, actual);
+    }
+
+}
@@ -0,0 +1,121 @@
+/*
+ * The MIT License
+ * Copyright (c) 2018 sciencesakura
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.sciencesakura.dbunit.dataset.bean;
+
+import org.dbunit.dataset.Column;
+import org.dbunit.dataset.DataSetException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link BeanTable#getValue(int, String)} and {@link BeanTable#getValue(int, int)} reading every cell
+ * sequentially or in random row order.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CellAccessBenchmark {
+
+    @Param({"100000"})
+    private int rows;
+
+    @Param({"false", "true"})
+    private boolean snapshot;
+
+    private BeanTable<BenchBean> table;
+
+    private String[] columnNames;
+
+    private int[] randomRows;
+
+    @Setup
+    public void setUp() throws DataSetException {
+        BeanTable.Builder<BenchBean> builder = new BeanTable.Builder<BenchBean>(BenchBean.class)
+            .add(BenchBean.list(rows));
+        if (snapshot) builder.snapshot();
+        table = builder.build();
+        Column[] columns = table.getTableMetaData().getColumns();
+        columnNames = new String[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            columnNames[i] = columns[i].getColumnName();
+        }
+        Random random = new Random(0);
+        randomRows = new int[rows];
+        for (int i = 0; i < rows; i++) {
+            randomRows[i] = random.nextInt(rows);
+        }
+    }
+
+    @Benchmark
+    public void sequentialByName(Blackhole bh) throws DataSetException {
+        for (int r = 0; r < rows; r++) {
+            for (String c : columnNames) {
+                bh.consume(table.getValue(r, c));
+            }
+        }
+    }
+
+    @Benchmark
+    public void sequentialByIndex(Blackhole bh) throws DataSetException {
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < columnNames.length; c++) {
+                bh.consume(table.getValue(r, c));
+            }
+        }
+    }
+
+    @Benchmark
+    public void randomByName(Blackhole bh) throws DataSetException {
+        for (int r : randomRows) {
+            for (String c : columnNames) {
+                bh.consume(table.getValue(r, c));
+            }
+        }
+    }
+
+    @Benchmark
+    public void randomByIndex(Blackhole bh) throws DataSetException {
+        for (int r : randomRows) {
+            for (int c = 0; c < columnNames.length; c++) {
+                bh.consume(table.getValue(r, c));
+            }
+        }
+    }
+
+}
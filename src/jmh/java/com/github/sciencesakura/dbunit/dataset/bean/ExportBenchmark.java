@@ -0,0 +1,104 @@
+/*
+ * The MIT License
+ * Copyright (c) 2018 sciencesakura
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.sciencesakura.dbunit.dataset.bean;
+
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.DefaultDataSet;
+import org.dbunit.dataset.xml.FlatXmlDataSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link TableExporter} against {@link FlatXmlDataSet#write(org.dbunit.dataset.IDataSet, OutputStream)}
+ * writing a {@link BeanTable} to a discarding stream.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExportBenchmark {
+
+    private static final OutputStream DISCARD = new OutputStream() {
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    };
+
+    @Param({"100000"})
+    private int rows;
+
+    private BeanTable<BenchBean> table;
+
+    private WritableByteChannel channel;
+
+    @Setup
+    public void setUp() {
+        table = new BeanTable.Builder<BenchBean>(BenchBean.class, "bench_bean").naming(Naming.CAMEL_TO_SNAKE)
+            .add(BenchBean.list(rows))
+            .snapshot()
+            .build();
+        channel = Channels.newChannel(DISCARD);
+    }
+
+    @Benchmark
+    public void flatXmlDataSet() throws DataSetException, IOException {
+        FlatXmlDataSet.write(new DefaultDataSet(table), DISCARD);
+    }
+
+    @Benchmark
+    public void exportCsv() throws DataSetException, IOException {
+        new TableExporter.Builder(ExportFormat.CSV).build().export(table, channel);
+    }
+
+    @Benchmark
+    public void exportFlatXml() throws DataSetException, IOException {
+        new TableExporter.Builder(ExportFormat.FLAT_XML).build().export(table, channel);
+    }
+
+    @Benchmark
+    public void exportFlatXmlGzip() throws DataSetException, IOException {
+        new TableExporter.Builder(ExportFormat.FLAT_XML).gzip().build().export(table, channel);
+    }
+
+}
@@ -0,0 +1,285 @@
+/*
+ * The MIT License
+ * Copyright (c) 2018 sciencesakura
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.sciencesakura.dbunit.dataset.bean;
+
+import org.dbunit.DatabaseUnitRuntimeException;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaConversionException;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Objects;
+
+/**
+ * Defines the strategies for reading property values from POJOs.
+ *
+ * <p>Fields found by {@link Introspection#FIELDS} are read via the Reflection API with {@link #REFLECTION}, and via
+ * method handles with the other strategies.</p>
+ *
+ * <p>{@link BeanMapper} writes property values with the same strategies, except that {@link #LAMBDA} writes via
+ * method handles.</p>
+ */
+public enum Accessor {
+
+    /**
+     * Invoking read methods via the Reflection API.
+     *
+     * <p>This is the slowest strategy but works in any environment.</p>
+     */
+    REFLECTION,
+
+    /**
+     * Invoking read methods via method handles.
+     *
+     * <p>Falls back to {@link #REFLECTION} if the read method cannot be looked up.</p>
+     */
+    METHOD_HANDLE,
+
+    /**
+     * Invoking read methods via functions spun by {@link LambdaMetafactory}.
+     *
+     * <p>This is the fastest strategy once compiled by JIT. Falls back to {@link #METHOD_HANDLE} if the POJO
+     * class is not visible from the class loader of this library.</p>
+     */
+    LAMBDA;
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private static final MethodType SETTER_TYPE = MethodType.methodType(Void.TYPE, Object.class, Object.class);
+
+    private static final MethodHandle IS_NULL;
+
+    private static final MethodHandle NULL;
+
+    static {
+        try {
+            IS_NULL = MethodHandles.lookup().findStatic(Objects.class, "isNull",
+                MethodType.methodType(Boolean.TYPE, Object.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+        NULL = MethodHandles.dropArguments(MethodHandles.constant(Object.class, null), 0, Object.class);
+    }
+
+    Getter getter(Method method) {
+        switch (this) {
+            case REFLECTION:
+                return reflection(method);
+            case METHOD_HANDLE:
+                return methodHandle(method);
+            case LAMBDA:
+                return lambda(method);
+            default:
+                throw new UnsupportedOperationException(String.format("%1s is not supported", this));
+        }
+    }
+
+    Getter getter(Field field) {
+        try {
+            field.setAccessible(true);
+        } catch (RuntimeException e) {
+            // reads public fields only
+        }
+        return this == REFLECTION ? reflection(field) : methodHandle(field);
+    }
+
+    Getter getter(Property[] path) {
+        if (path.length == 1) return path[0].getter(this);
+        if (this != REFLECTION) {
+            MethodHandle handle = chain(path);
+            if (handle != null) return methodHandle(handle);
+        }
+        final Getter[] getters = new Getter[path.length];
+        for (int i = 0; i < getters.length; i++) {
+            getters[i] = path[i].getter(this);
+        }
+        return new Getter() {
+            @Override
+            public Object get(Object bean) throws Throwable {
+                Object value = bean;
+                for (Getter getter : getters) {
+                    value = getter.get(value);
+                    if (value == null) return null;
+                }
+                return value;
+            }
+        };
+    }
+
+    Setter setter(Method method) {
+        if (this == REFLECTION) return reflectionSetter(method);
+        try {
+            return methodHandleSetter(MethodHandles.publicLookup().unreflect(method).asType(SETTER_TYPE));
+        } catch (IllegalAccessException e) {
+            return reflectionSetter(method);
+        }
+    }
+
+    Setter setter(Field field) {
+        try {
+            field.setAccessible(true);
+        } catch (RuntimeException e) {
+            // writes public fields only
+        }
+        if (this == REFLECTION) return reflectionSetter(field);
+        try {
+            return methodHandleSetter(MethodHandles.lookup().unreflectSetter(field).asType(SETTER_TYPE));
+        } catch (IllegalAccessException e) {
+            return reflectionSetter(field);
+        }
+    }
+
+    private static MethodHandle chain(Property[] path) {
+        MethodHandle chain = null;
+        for (Property property : path) {
+            MethodHandle handle;
+            try {
+                if (property.getField() == null) {
+                    handle = MethodHandles.publicLookup().unreflect(property.getMethod());
+                } else {
+                    property.getField().setAccessible(true);
+                    handle = MethodHandles.lookup().unreflectGetter(property.getField());
+                }
+            } catch (IllegalAccessException | RuntimeException e) {
+                return null;
+            }
+            handle = handle.asType(GETTER_TYPE);
+            chain = chain == null ? handle
+                : MethodHandles.filterReturnValue(chain, MethodHandles.guardWithTest(IS_NULL, NULL, handle));
+        }
+        return chain;
+    }
+
+    private static Getter reflection(final Method method) {
+        return new Getter() {
+            @Override
+            public Object get(Object bean) throws Throwable {
+                try {
+                    return method.invoke(bean);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            }
+        };
+    }
+
+    private static Getter methodHandle(Method method) {
+        try {
+            return methodHandle(MethodHandles.publicLookup().unreflect(method).asType(GETTER_TYPE));
+        } catch (IllegalAccessException e) {
+            return reflection(method);
+        }
+    }
+
+    private static Getter reflection(final Field field) {
+        return new Getter() {
+            @Override
+            public Object get(Object bean) throws Throwable {
+                return field.get(bean);
+            }
+        };
+    }
+
+    private static Getter methodHandle(Field field) {
+        try {
+            return methodHandle(MethodHandles.lookup().unreflectGetter(field).asType(GETTER_TYPE));
+        } catch (IllegalAccessException e) {
+            return reflection(field);
+        }
+    }
+
+    private static Getter methodHandle(final MethodHandle handle) {
+        return new Getter() {
+            @Override
+            public Object get(Object bean) throws Throwable {
+                return handle.invokeExact(bean);
+            }
+        };
+    }
+
+    private static Setter reflectionSetter(final Method method) {
+        return new Setter() {
+            @Override
+            public void set(Object bean, Object value) throws Throwable {
+                try {
+                    method.invoke(bean, value);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            }
+        };
+    }
+
+    private static Setter reflectionSetter(final Field field) {
+        return new Setter() {
+            @Override
+            public void set(Object bean, Object value) throws Throwable {
+                field.set(bean, value);
+            }
+        };
+    }
+
+    private static Setter methodHandleSetter(final MethodHandle handle) {
+        return new Setter() {
+            @Override
+            public void set(Object bean, Object value) throws Throwable {
+                handle.invokeExact(bean, value);
+            }
+        };
+    }
+
+    private static Getter lambda(Method method) {
+        if (!isVisible(method.getDeclaringClass())) return methodHandle(method);
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        CallSite site;
+        try {
+            MethodHandle target = lookup.unreflect(method);
+            site = LambdaMetafactory.metafactory(lookup, "get",
+                MethodType.methodType(Getter.class), GETTER_TYPE, target, target.type().wrap());
+        } catch (IllegalAccessException | LambdaConversionException e) {
+            return methodHandle(method);
+        }
+        try {
+            return (Getter) site.getTarget().invoke();
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            // the factory of a non-capturing lambda throws no checked exception
+            throw new DatabaseUnitRuntimeException(e);
+        }
+    }
+
+    private static boolean isVisible(Class<?> type) {
+        try {
+            return Class.forName(type.getName(), false, Accessor.class.getClassLoader()) == type;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+}
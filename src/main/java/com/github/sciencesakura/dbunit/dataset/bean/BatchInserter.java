@@ -0,0 +1,218 @@
+/*
+ * The MIT License
+ * Copyright (c) 2018 sciencesakura
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.sciencesakura.dbunit.dataset.bean;
+
+import org.dbunit.dataset.Column;
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.IDataSet;
+import org.dbunit.dataset.ITable;
+import org.dbunit.dataset.ITableIterator;
+import org.dbunit.dataset.RowOutOfBoundsException;
+import org.dbunit.dataset.datatype.DataType;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+
+/**
+ * Inserts the rows of tables into a database with batched {@link PreparedStatement}s.
+ *
+ * <p>Each table is inserted with a single {@code INSERT} statement whose parameters are set by the
+ * {@link DataType} of each column, and the statement is executed every {@link Builder#batchSize(int)} rows.
+ * Unlike {@link org.dbunit.operation.DatabaseOperation#INSERT DatabaseOperation.INSERT}, this neither reads the
+ * database metadata nor commits; the transaction is left to the caller.</p>
+ *
+ * <p>A {@code null} of a column of {@link DataType#UNKNOWN} is set with the parameter type reported by
+ * {@link java.sql.ParameterMetaData}, or with {@link Types#NULL} if the driver cannot report it.</p>
+ *
+ * @see BatchInserter.Builder
+ */
+public class BatchInserter {
+
+    private static final int UNRESOLVED = Integer.MIN_VALUE;
+
+    private final int batchSize;
+
+    private final String escapePattern;
+
+    private BatchInserter(Builder builder) {
+        batchSize = builder.batchSize;
+        escapePattern = builder.escapePattern;
+    }
+
+    /**
+     * Inserts the rows of the specified table.
+     *
+     * @param connection the connection to insert the rows with, non-nullable
+     * @param table      the table to insert, non-nullable
+     * @return the number of the rows inserted
+     * @throws DataSetException if failed to read a value from the table
+     * @throws SQLException     if failed to insert the rows
+     */
+    public int insert(Connection connection, ITable table) throws DataSetException, SQLException {
+        if (connection == null) throw new NullPointerException("connection must not be null");
+        if (table == null) throw new NullPointerException("table must not be null");
+        Column[] columns = table.getTableMetaData().getColumns();
+        if (columns.length == 0) return 0;
+        BeanTable<?> beanTable = table instanceof BeanTable ? (BeanTable<?>) table : null;
+        DataType[] dataTypes = new DataType[columns.length];
+        int[] nullTypes = new int[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            dataTypes[i] = columns[i].getDataType();
+            // resolves the type of UNKNOWN lazily, since not all drivers describe parameters cheaply
+            nullTypes[i] = dataTypes[i] == DataType.UNKNOWN ? UNRESOLVED : dataTypes[i].getSqlType();
+        }
+        String sql = sql(table.getTableMetaData().getTableName(), columns);
+        int rows = 0;
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            int pending = 0;
+            for (int r = 0; ; r++) {
+                try {
+                    for (int c = 0; c < columns.length; c++) {
+                        Object value = beanTable == null ? table.getValue(r, columns[c].getColumnName())
+                            : beanTable.getValue(r, c);
+                        if (value == null) {
+                            if (nullTypes[c] == UNRESOLVED) nullTypes[c] = parameterType(statement, c + 1);
+                            statement.setNull(c + 1, nullTypes[c]);
+                        } else {
+                            dataTypes[c].setSqlValue(value, c + 1, statement);
+                        }
+                    }
+                } catch (RowOutOfBoundsException e) {
+                    break;
+                }
+                statement.addBatch();
+                rows++;
+                if (++pending == batchSize) {
+                    statement.executeBatch();
+                    pending = 0;
+                }
+            }
+            if (pending != 0) statement.executeBatch();
+        }
+        return rows;
+    }
+
+    /**
+     * Inserts the rows of all the tables of the specified data set in order.
+     *
+     * @param connection the connection to insert the rows with, non-nullable
+     * @param dataSet    the data set to insert, non-nullable
+     * @return the number of the rows inserted
+     * @throws DataSetException if failed to read a value from the data set
+     * @throws SQLException     if failed to insert the rows
+     */
+    public int insert(Connection connection, IDataSet dataSet) throws DataSetException, SQLException {
+        if (dataSet == null) throw new NullPointerException("dataSet must not be null");
+        int rows = 0;
+        ITableIterator iterator = dataSet.iterator();
+        while (iterator.next()) {
+            rows += insert(connection, iterator.getTable());
+        }
+        return rows;
+    }
+
+    private static int parameterType(PreparedStatement statement, int index) {
+        try {
+            return statement.getParameterMetaData().getParameterType(index);
+        } catch (SQLException e) {
+            return Types.NULL;
+        }
+    }
+
+    private String sql(String tableName, Column[] columns) {
+        StringBuilder sb = new StringBuilder("insert into ").append(escape(tableName)).append(" (");
+        for (int i = 0; i < columns.length; i++) {
+            if (i != 0) sb.append(", ");
+            sb.append(escape(columns[i].getColumnName()));
+        }
+        sb.append(") values (");
+        for (int i = 0; i < columns.length; i++) {
+            sb.append(i == 0 ? "?" : ", ?");
+        }
+        return sb.append(')').toString();
+    }
+
+    private String escape(String name) {
+        return escapePattern == null ? name : escapePattern.replace("?", name);
+    }
+
+    /**
+     * A builder to create a {@link BatchInserter} instances providing chainable methods.
+     */
+    public static class Builder {
+
+        private int batchSize = 1000;
+
+        private String escapePattern;
+
+        /**
+         * Constructs a builder.
+         */
+        public Builder() {
+        }
+
+        /**
+         * Specifies the number of the rows to execute at once.
+         *
+         * <p>Default: {@code 1000}</p>
+         *
+         * @param batchSize the number of the rows, positive
+         * @return the reference to this object
+         */
+        public Builder batchSize(int batchSize) {
+            if (batchSize <= 0) throw new IllegalArgumentException("batchSize must be positive");
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        /**
+         * Constructs a {@link BatchInserter} instance.
+         *
+         * @return a new {@link BatchInserter} instance
+         */
+        public BatchInserter build() {
+            return new BatchInserter(this);
+        }
+
+        /**
+         * Specifies the pattern to escape the table and column names, such as {@code "\"?\""}.
+         *
+         * <p>The {@code ?} in the pattern is replaced by the name, as DbUnit's {@code escapePattern} property
+         * does.</p>
+         *
+         * <p>Default: none; the names are not escaped</p>
+         *
+         * @param escapePattern the escape pattern, non-nullable
+         * @return the reference to this object
+         */
+        public Builder escapePattern(String escapePattern) {
+            if (escapePattern == null) throw new NullPointerException("escapePattern must not be null");
+            this.escapePattern = escapePattern;
+            return this;
+        }
+
+    }
+
+}
@@ -24,72 +24,74 @@ package com.github.sciencesakura.dbunit.dataset.bean;
 
 import org.dbunit.dataset.Column;
 import org.dbunit.dataset.DataSetException;
-import org.dbunit.dataset.datatype.DataType;
-
-import java.beans.PropertyDescriptor;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
-import java.sql.Time;
-import java.sql.Timestamp;
-import java.util.Date;
 
 class BeanColumn {
 
-    private static DataType resolveType(Class<?> javaType) {
-        DataType dbUnitType;
-        if (Timestamp.class.isAssignableFrom(javaType)) {
-            dbUnitType = DataType.TIMESTAMP;
-        } else if (Time.class.isAssignableFrom(javaType)) {
-            dbUnitType = DataType.TIME;
-        } else if (Date.class.isAssignableFrom(javaType)) {
-            dbUnitType = DataType.DATE;
-        } else if (Boolean.TYPE.equals(javaType) || Boolean.class.equals(javaType)) {
-            dbUnitType = DataType.BOOLEAN;
-        } else if (byte[].class.equals(javaType)) {
-            dbUnitType = DataType.BLOB;
-        } else {
-            dbUnitType = DataType.UNKNOWN;
-        }
-        return dbUnitType;
-    }
-
     private final String name;
 
-    private final DataType type;
+    private final Class<?> type;
 
-    private final Method getter;
+    private final Column dbUnitColumn;
 
-    BeanColumn(PropertyDescriptor descriptor, Naming naming) {
-        name = naming.resolve(descriptor.getName());
-        type = resolveType(descriptor.getPropertyType());
-        getter = descriptor.getReadMethod();
+    private final Class<?> declaringClass;
+
+    private final Getter getter;
+
+    private final DataTypeMappings.Mapping mapping;
+
+    BeanColumn(Property property, NamingStrategy naming, Accessor accessor) {
+        this(naming.resolve(property.getName()), property.getType(), property.getDeclaringClass(),
+            property.getter(accessor));
+    }
+
+    BeanColumn(String name, Class<?> type, Class<?> declaringClass, Getter getter) {
+        this.name = name;
+        this.type = type;
+        this.declaringClass = declaringClass;
+        this.getter = getter;
+        mapping = DataTypeMappings.lookup(type);
+        dbUnitColumn = new Column(name, mapping.dataType);
+    }
+
+    BeanColumn(BeanColumn column) {
+        name = column.name;
+        type = column.type;
+        declaringClass = column.declaringClass;
+        getter = column.getter;
+        mapping = column.mapping;
+        dbUnitColumn = column.dbUnitColumn;
     }
 
     String getName() {
         return name;
     }
 
+    Class<?> getType() {
+        return type;
+    }
+
+    Class<?> getValueType() {
+        // a converter may return any type even for a primitive property
+        return mapping.converts() ? Object.class : type;
+    }
+
     Object getValue(Object bean) throws DataSetException {
+        Object value;
         try {
-            return getter.invoke(bean);
-        } catch (IllegalAccessException e) {
+            value = getter.get(bean);
+        } catch (Error e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Throwable e) {
             throw new DataSetException(String.format("failed to read %1s.%2s",
-                getter.getDeclaringClass().getSimpleName(), name));
-        } catch (InvocationTargetException e) {
-            Throwable cause = e.getCause();
-            if (cause instanceof Error) {
-                throw (Error) cause;
-            } else if (cause instanceof RuntimeException) {
-                throw (RuntimeException) cause;
-            } else {
-                throw new DataSetException(String.format("failed to read %1s.%2s",
-                    getter.getDeclaringClass().getSimpleName(), name), cause);
-            }
+                declaringClass.getSimpleName(), name), e);
         }
+        return mapping.converts() ? mapping.convert(value) : value;
     }
 
     Column toDbUnitColumn() {
-        return new Column(name, type);
+        return dbUnitColumn;
     }
 
 }
@@ -0,0 +1,71 @@
+/*
+ * The MIT License
+ * Copyright (c) 2018 sciencesakura
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.sciencesakura.dbunit.dataset.bean;
+
+import org.dbunit.dataset.Column;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+final class BeanColumns {
+
+    private final BeanColumn[] columns;
+
+    private final Column[] dbUnitColumns;
+
+    private final Map<String, Integer> indexes;
+
+    private final Map<String, Integer> upperCaseIndexes;
+
+    BeanColumns(BeanColumn[] columns) {
+        this.columns = columns;
+        dbUnitColumns = new Column[columns.length];
+        indexes = new HashMap<String, Integer>();
+        upperCaseIndexes = new HashMap<String, Integer>();
+        for (int i = 0; i < columns.length; i++) {
+            dbUnitColumns[i] = columns[i].toDbUnitColumn();
+            indexes.put(columns[i].getName(), i);
+            upperCaseIndexes.put(columns[i].getName().toUpperCase(Locale.ROOT), i);
+        }
+    }
+
+    int size() {
+        return columns.length;
+    }
+
+    BeanColumn get(int index) {
+        return columns[index];
+    }
+
+    int indexOf(String name) {
+        Integer index = indexes.get(name);
+        if (index == null) index = upperCaseIndexes.get(name.toUpperCase(Locale.ROOT));
+        return index == null ? -1 : index;
+    }
+
+    Column[] toDbUnitColumns() {
+        return dbUnitColumns;
+    }
+
+}
@@ -0,0 +1,197 @@
+/*
+ * The MIT License
+ * Copyright (c) 2018 sciencesakura
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.sciencesakura.dbunit.dataset.bean;
+
+import org.dbunit.DatabaseUnitRuntimeException;
+import org.dbunit.dataset.AbstractDataSet;
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.DefaultTableIterator;
+import org.dbunit.dataset.ITable;
+import org.dbunit.dataset.ITableIterator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * An implementation of the {@link org.dbunit.dataset.IDataSet IDataSet} interface that consists of
+ * {@link BeanTable}s.
+ *
+ * <p>The tables are built in parallel, and are ordered so that each table follows the tables it depends on; tables
+ * not depending on each other keep the order in which they were added.</p>
+ *
+ * @see BeanDataSet.Builder
+ */
+public class BeanDataSet extends AbstractDataSet {
+
+    private final ITable[] tables;
+
+    private BeanDataSet(ITable[] tables) {
+        this.tables = tables;
+    }
+
+    @Override
+    protected ITableIterator createIterator(boolean reversed) throws DataSetException {
+        return new DefaultTableIterator(tables, reversed);
+    }
+
+    /**
+     * A builder to create a {@link BeanDataSet} instances providing chainable methods.
+     */
+    public static class Builder {
+
+        private static final int VISITING = 1;
+
+        private static final int VISITED = 2;
+
+        private final List<Entry> entries = new ArrayList<Entry>();
+
+        private Executor executor = ForkJoinPool.commonPool();
+
+        private boolean snapshot;
+
+        /**
+         * Constructs a builder.
+         */
+        public Builder() {
+        }
+
+        /**
+         * Appends a table to this builder.
+         *
+         * @param table     the builder of the table, non-nullable
+         * @param dependsOn the names of the tables that the table depends on, non-nullable
+         * @return the reference to this object
+         */
+        public Builder add(BeanTable.Builder<?> table, String... dependsOn) {
+            if (table == null) throw new NullPointerException("table must not be null");
+            for (String name : dependsOn) {
+                if (name == null) throw new NullPointerException("dependsOn must not contain null");
+            }
+            entries.add(new Entry(table, dependsOn.clone()));
+            return this;
+        }
+
+        /**
+         * Constructs a {@link BeanDataSet} instance.
+         *
+         * <p>The dependencies are validated before any table is built.</p>
+         *
+         * @return a new {@link BeanDataSet} instance
+         * @throws IllegalStateException if a table depends on an unknown table, or the dependencies are cyclic
+         */
+        public BeanDataSet build() {
+            Map<String, Integer> indexes = new TreeMap<String, Integer>(String.CASE_INSENSITIVE_ORDER);
+            for (int i = 0; i < entries.size(); i++) {
+                String tableName = entries.get(i).table.tableName();
+                if (indexes.put(tableName, i) != null) throw new IllegalStateException("duplicate table: " + tableName);
+            }
+            List<Integer> order = new ArrayList<Integer>(entries.size());
+            int[] states = new int[entries.size()];
+            for (int i = 0; i < entries.size(); i++) {
+                visit(i, indexes, states, order);
+            }
+            List<CompletableFuture<BeanTable<?>>> futures = new ArrayList<CompletableFuture<BeanTable<?>>>();
+            for (Entry entry : entries) {
+                final BeanTable.Builder<?> table = entry.table;
+                futures.add(CompletableFuture.supplyAsync(() -> table.build(snapshot), executor));
+            }
+            try {
+                CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+                if (cause instanceof Error) throw (Error) cause;
+                throw new DatabaseUnitRuntimeException(cause);
+            }
+            ITable[] ordered = new ITable[order.size()];
+            for (int i = 0; i < ordered.length; i++) {
+                ordered[i] = futures.get(order.get(i)).join();
+            }
+            return new BeanDataSet(ordered);
+        }
+
+        private void visit(int index, Map<String, Integer> indexes, int[] states, List<Integer> order) {
+            if (states[index] == VISITED) return;
+            String tableName = entries.get(index).table.tableName();
+            if (states[index] == VISITING) throw new IllegalStateException("cyclic dependency: " + tableName);
+            states[index] = VISITING;
+            for (String name : entries.get(index).dependsOn) {
+                Integer dependency = indexes.get(name);
+                if (dependency == null) {
+                    throw new IllegalStateException(tableName + " depends on unknown table: " + name);
+                }
+                visit(dependency, indexes, states, order);
+            }
+            states[index] = VISITED;
+            order.add(index);
+        }
+
+        /**
+         * Specifies the executor to build the tables on.
+         *
+         * <p>Default: {@link ForkJoinPool#commonPool()}</p>
+         *
+         * @param executor the executor, non-nullable
+         * @return the reference to this object
+         */
+        public Builder executor(Executor executor) {
+            if (executor == null) throw new NullPointerException("executor must not be null");
+            this.executor = executor;
+            return this;
+        }
+
+        /**
+         * Specifies to read all property values of all the tables when building a data set.
+         *
+         * <p>The builders of the tables are not modified.</p>
+         *
+         * @return the reference to this object
+         * @see BeanTable.Builder#snapshot()
+         */
+        public Builder snapshot() {
+            this.snapshot = true;
+            return this;
+        }
+
+    }
+
+    private static final class Entry {
+
+        final BeanTable.Builder<?> table;
+
+        final String[] dependsOn;
+
+        Entry(BeanTable.Builder<?> table, String[] dependsOn) {
+            this.table = table;
+            this.dependsOn = dependsOn;
+        }
+
+    }
+
+}
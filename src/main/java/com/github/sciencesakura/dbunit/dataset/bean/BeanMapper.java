@@ -0,0 +1,507 @@
+/*
+ * The MIT License
+ * Copyright (c) 2018 sciencesakura
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.sciencesakura.dbunit.dataset.bean;
+
+import org.dbunit.DatabaseUnitRuntimeException;
+import org.dbunit.dataset.Column;
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.ITable;
+import org.dbunit.dataset.ITableMetaData;
+import org.dbunit.dataset.RowOutOfBoundsException;
+import org.dbunit.dataset.stream.DefaultConsumer;
+import org.dbunit.dataset.stream.IDataSetConsumer;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+/**
+ * Maps the rows of tables to POJOs; the reverse of {@link BeanTable}.
+ *
+ * <p>The properties are found and named in the same way as {@link BeanTable} does, and a column is mapped to the
+ * property of the same name, or of the same name ignoring case if there is no such one. Columns having no property
+ * are ignored, and properties having no column are left as initialized. Values are cast by the
+ * {@link org.dbunit.dataset.datatype.DataType DataType} mapped to the property type by {@link DataTypeMappings},
+ * and converted by the reverse converter of the mapping if registered.</p>
+ *
+ * <p>The POJO class must have a no-arg constructor unless {@link Introspection#RECORD_COMPONENTS} is used, in
+ * which case the canonical constructor is called. A {@code null} value is not written to a primitive property, and
+ * is passed to the canonical constructor as the default value of the primitive type.</p>
+ *
+ * <p>The write accessors are cached by {@link MetaDataCache} per POJO class and builder options, as the column
+ * metadata of {@link BeanTable} are.</p>
+ *
+ * @param <T> the type of the POJO
+ * @see BeanMapper.Builder
+ */
+public class BeanMapper<T> {
+
+    private static final Object[] NO_ARGS = new Object[0];
+
+    private static final MethodType SPREADER_TYPE = MethodType.methodType(Object.class, Object[].class);
+
+    private final Class<T> type;
+
+    private final Target[] targets;
+
+    private final Map<String, Target> targetsByName;
+
+    private final Map<String, Target> targetsByUpperCaseName;
+
+    private final MethodHandle constructor;
+
+    private final boolean record;
+
+    private BeanMapper(Builder<T> builder) {
+        type = builder.type;
+        record = builder.introspection == Introspection.RECORD_COMPONENTS;
+        Targets resolved = lookupTargets(builder);
+        targets = resolved.targets;
+        targetsByName = resolved.targetsByName;
+        targetsByUpperCaseName = resolved.targetsByUpperCaseName;
+        constructor = resolved.constructor;
+    }
+
+    private static Targets lookupTargets(Builder<?> builder) {
+        MetaDataCache.Key key = new MetaDataCache.Key(builder.base, builder.naming, builder.accessor,
+            builder.introspection);
+        Targets targets = MetaDataCache.get(builder.type, key);
+        if (targets != null) return targets;
+        return MetaDataCache.put(builder.type, key, new Targets(builder));
+    }
+
+    private static MethodHandle constructor(Class<?> type, Class<?>[] parameterTypes) {
+        Constructor<?> constructor;
+        try {
+            constructor = type.getDeclaredConstructor(parameterTypes);
+        } catch (NoSuchMethodException e) {
+            throw new DatabaseUnitRuntimeException(String.format("%1s has no %2s constructor", type.getName(),
+                parameterTypes.length == 0 ? "no-arg" : "canonical"), e);
+        }
+        try {
+            constructor.setAccessible(true);
+        } catch (RuntimeException e) {
+            // calls public constructors only
+        }
+        try {
+            return MethodHandles.lookup().unreflectConstructor(constructor)
+                .asSpreader(Object[].class, parameterTypes.length)
+                .asType(SPREADER_TYPE);
+        } catch (IllegalAccessException e) {
+            throw new DatabaseUnitRuntimeException(e);
+        }
+    }
+
+    /**
+     * Maps all the rows of the specified table to POJOs.
+     *
+     * @param table the table to map, non-nullable
+     * @return the POJOs in row order
+     * @throws DataSetException if failed to read or convert a value
+     */
+    public List<T> toList(ITable table) throws DataSetException {
+        if (table == null) throw new NullPointerException("table must not be null");
+        Binding binding = bind(table.getTableMetaData());
+        List<T> beans = new ArrayList<T>();
+        Object[] values = new Object[binding.columns.length];
+        for (int r = 0; binding.read(table, r, values); r++) {
+            beans.add(binding.map(values));
+        }
+        return beans;
+    }
+
+    /**
+     * Returns an iterator mapping the rows of the specified table to POJOs as the rows are read.
+     *
+     * <p>The rows are read in order exactly once, so that this works with forward-only tables such as the ones of
+     * {@link org.dbunit.dataset.stream.StreamingDataSet StreamingDataSet}. A {@link DataSetException} thrown while
+     * iterating is rethrown wrapped in {@link DatabaseUnitRuntimeException}.</p>
+     *
+     * @param table the table to map, non-nullable
+     * @return an iterator over the POJOs in row order
+     * @throws DataSetException if failed to read the table metadata
+     */
+    public Iterator<T> iterator(final ITable table) throws DataSetException {
+        if (table == null) throw new NullPointerException("table must not be null");
+        final Binding binding = bind(table.getTableMetaData());
+        return new Iterator<T>() {
+
+            private final Object[] values = new Object[binding.columns.length];
+
+            private int row;
+
+            private T next;
+
+            private boolean end;
+
+            @Override
+            public boolean hasNext() {
+                if (next != null) return true;
+                if (end) return false;
+                try {
+                    if (binding.read(table, row, values)) {
+                        row++;
+                        next = binding.map(values);
+                    } else {
+                        end = true;
+                    }
+                } catch (DataSetException e) {
+                    throw new DatabaseUnitRuntimeException(e);
+                }
+                return !end;
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                T bean = next;
+                next = null;
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Returns a consumer mapping the rows it receives to POJOs, and passing them to the specified action.
+     *
+     * <p>This maps the rows of a {@link org.dbunit.dataset.stream.IDataSetProducer IDataSetProducer} as they are
+     * produced, without any table holding them. The rows of all the tables produced are mapped.</p>
+     *
+     * @param action the action to receive the POJOs, non-nullable
+     * @return a new consumer
+     */
+    public IDataSetConsumer consumer(final Consumer<? super T> action) {
+        if (action == null) throw new NullPointerException("action must not be null");
+        return new DefaultConsumer() {
+
+            private Binding binding;
+
+            @Override
+            public void startTable(ITableMetaData metaData) throws DataSetException {
+                binding = bind(metaData);
+            }
+
+            @Override
+            public void endTable() {
+                binding = null;
+            }
+
+            @Override
+            public void row(Object[] values) throws DataSetException {
+                action.accept(binding.map(values));
+            }
+        };
+    }
+
+    private Binding bind(ITableMetaData metaData) throws DataSetException {
+        Column[] columns = metaData.getColumns();
+        Target[] bound = new Target[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            String name = columns[i].getColumnName();
+            Target target = targetsByName.get(name);
+            bound[i] = target == null ? targetsByUpperCaseName.get(name.toUpperCase(Locale.ROOT)) : target;
+        }
+        return new Binding(metaData.getTableName(), columns, bound);
+    }
+
+    private final class Binding {
+
+        private final String tableName;
+
+        private final Column[] columns;
+
+        private final Target[] targets;
+
+        private final boolean unbound;
+
+        private Binding(String tableName, Column[] columns, Target[] targets) {
+            this.tableName = tableName;
+            this.columns = columns;
+            this.targets = targets;
+            boolean unbound = true;
+            for (Target target : targets) {
+                if (target != null) unbound = false;
+            }
+            this.unbound = unbound;
+        }
+
+        private boolean read(ITable table, int row, Object[] values) throws DataSetException {
+            if (columns.length == 0) return Rows.hasRow(table, row);
+            BeanTable<?> beanTable = table instanceof BeanTable ? (BeanTable<?>) table : null;
+            try {
+                for (int c = 0; c < columns.length; c++) {
+                    // reads the unbound columns only to find the end of a table having no bound column
+                    if (targets[c] == null && !unbound) continue;
+                    values[c] = beanTable == null ? table.getValue(row, columns[c].getColumnName())
+                        : beanTable.getValue(row, c);
+                }
+            } catch (RowOutOfBoundsException e) {
+                return false;
+            }
+            return true;
+        }
+
+        private T map(Object[] values) throws DataSetException {
+            Object[] args = null;
+            Object bean = null;
+            if (record) {
+                args = new Object[BeanMapper.this.targets.length];
+                for (Target target : BeanMapper.this.targets) {
+                    args[target.index] = target.defaultValue;
+                }
+            } else {
+                bean = newInstance(NO_ARGS);
+            }
+            for (int c = 0; c < columns.length; c++) {
+                Target target = targets[c];
+                if (target == null) continue;
+                Object value = target.convert(values[c], tableName);
+                if (value == null && target.defaultValue != null) continue;
+                if (record) {
+                    args[target.index] = value;
+                } else {
+                    try {
+                        target.setter.set(bean, value);
+                    } catch (Throwable e) {
+                        throw new DataSetException(String.format("failed to write %1s.%2s", tableName,
+                            target.name), e);
+                    }
+                }
+            }
+            return type.cast(record ? newInstance(args) : bean);
+        }
+
+        private Object newInstance(Object[] args) throws DataSetException {
+            try {
+                return constructor.invokeExact(args);
+            } catch (Throwable e) {
+                throw new DataSetException(String.format("failed to instantiate %1s", type.getName()), e);
+            }
+        }
+
+    }
+
+    private static final class Targets {
+
+        private final Target[] targets;
+
+        private final Map<String, Target> targetsByName;
+
+        private final Map<String, Target> targetsByUpperCaseName;
+
+        private final MethodHandle constructor;
+
+        private Targets(Builder<?> builder) {
+            boolean record = builder.introspection == Introspection.RECORD_COMPONENTS;
+            List<Property> properties = builder.introspection.writableProperties(builder.type, builder.base);
+            targets = new Target[properties.size()];
+            targetsByName = new HashMap<String, Target>();
+            targetsByUpperCaseName = new HashMap<String, Target>();
+            Class<?>[] parameterTypes = new Class<?>[targets.length];
+            for (int i = 0; i < targets.length; i++) {
+                Property property = properties.get(i);
+                Target target = new Target(builder.naming.resolve(property.getName()), property.getType(), i,
+                    record ? null : property.setter(builder.accessor));
+                targets[i] = target;
+                targetsByName.put(target.name, target);
+                String upperCaseName = target.name.toUpperCase(Locale.ROOT);
+                if (!targetsByUpperCaseName.containsKey(upperCaseName)) targetsByUpperCaseName.put(upperCaseName, target);
+                parameterTypes[i] = property.getType();
+            }
+            constructor = constructor(builder.type, record ? parameterTypes : new Class<?>[0]);
+        }
+
+    }
+
+    private static final class Target {
+
+        private final String name;
+
+        private final Class<?> type;
+
+        private final int index;
+
+        private final Setter setter;
+
+        private final DataTypeMappings.Mapping mapping;
+
+        private final Object defaultValue;
+
+        private Target(String name, Class<?> type, int index, Setter setter) {
+            this.name = name;
+            this.type = PropertyPath.box(type);
+            this.index = index;
+            this.setter = setter;
+            mapping = DataTypeMappings.lookup(type);
+            defaultValue = type.isPrimitive() ? Array.get(Array.newInstance(type, 1), 0) : null;
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private Object convert(Object value, String tableName) throws DataSetException {
+            if (value == null) return null;
+            try {
+                value = mapping.dataType.typeCast(value);
+                if (value == null) return null;
+                if (mapping.reverses()) return mapping.reverse(value);
+                if (type.isInstance(value)) return value;
+                if (type.isEnum()) return Enum.valueOf((Class<Enum>) type, value.toString());
+                if (value instanceof Number) {
+                    Object number = toNumber((Number) value, type);
+                    if (number != null) return number;
+                }
+                if (type == String.class) return value.toString();
+            } catch (Exception e) {
+                throw new DataSetException(String.format("cannot convert %1s.%2s to %3s", tableName, name,
+                    type.getName()), e);
+            }
+            throw new DataSetException(String.format("cannot convert %1s.%2s of %3s to %4s", tableName, name,
+                value.getClass().getName(), type.getName()));
+        }
+
+        private static Object toNumber(Number value, Class<?> type) {
+            if (type == Byte.class) return value.byteValue();
+            if (type == Short.class) return value.shortValue();
+            if (type == Integer.class) return value.intValue();
+            if (type == Long.class) return value.longValue();
+            if (type == Float.class) return value.floatValue();
+            if (type == Double.class) return value.doubleValue();
+            if (type == BigInteger.class) {
+                return value instanceof BigDecimal ? ((BigDecimal) value).toBigInteger()
+                    : BigInteger.valueOf(value.longValue());
+            }
+            if (type == BigDecimal.class) return new BigDecimal(value.toString());
+            return null;
+        }
+
+    }
+
+    /**
+     * A builder to create a {@link BeanMapper} instances providing chainable methods.
+     *
+     * @param <T> the type of the POJO
+     */
+    public static class Builder<T> {
+
+        private final Class<T> type;
+
+        private Class<? super T> base = Object.class;
+
+        private NamingStrategy naming = Naming.RAW;
+
+        private Accessor accessor = Accessor.LAMBDA;
+
+        private Introspection introspection = Introspection.JAVA_BEANS;
+
+        /**
+         * Constructs a builder.
+         *
+         * @param type the type of the POJO, non-nullable
+         */
+        public Builder(Class<T> type) {
+            if (type == null) throw new NullPointerException("type must not be null");
+            this.type = type;
+        }
+
+        /**
+         * Specifies the strategy for writing property values.
+         *
+         * <p>Default: {@link Accessor#LAMBDA}</p>
+         *
+         * @param accessor the strategy for writing property values, non-nullable
+         * @return the reference to this object
+         */
+        public Builder<T> accessor(Accessor accessor) {
+            if (accessor == null) throw new NullPointerException("accessor must not be null");
+            this.accessor = accessor;
+            return this;
+        }
+
+        /**
+         * Specifies the base class of the POJO.
+         *
+         * <p>Default: {@link Object}</p>
+         *
+         * @param base the base class, non-nullable
+         * @return the reference to this object
+         */
+        public Builder<T> base(Class<? super T> base) {
+            if (base == null) throw new NullPointerException("base must not be null");
+            this.base = base;
+            return this;
+        }
+
+        /**
+         * Constructs a {@link BeanMapper} instance.
+         *
+         * @return a new {@link BeanMapper} instance
+         */
+        public BeanMapper<T> build() {
+            return new BeanMapper<T>(this);
+        }
+
+        /**
+         * Specifies the strategy for finding properties.
+         *
+         * <p>{@link Introspection#JAVA_BEANS} and {@link Introspection#GETTERS} find the properties having write
+         * methods instead of read methods.</p>
+         *
+         * <p>Default: {@link Introspection#JAVA_BEANS}</p>
+         *
+         * @param introspection the strategy for finding properties, non-nullable
+         * @return the reference to this object
+         */
+        public Builder<T> introspection(Introspection introspection) {
+            if (introspection == null) throw new NullPointerException("introspection must not be null");
+            this.introspection = introspection;
+            return this;
+        }
+
+        /**
+         * Specifies the naming convention for columns.
+         *
+         * <p>Default: {@link Naming#RAW}</p>
+         *
+         * @param naming the naming convention, non-nullable
+         * @return the reference to this object
+         */
+        public Builder<T> naming(NamingStrategy naming) {
+            if (naming == null) throw new NullPointerException("naming must not be null");
+            this.naming = naming;
+            return this;
+        }
+
+    }
+
+}
@@ -24,66 +24,218 @@ package com.github.sciencesakura.dbunit.dataset.bean;
 
 import org.dbunit.DatabaseUnitRuntimeException;
 import org.dbunit.dataset.AbstractTable;
-import org.dbunit.dataset.Column;
 import org.dbunit.dataset.DataSetException;
-import org.dbunit.dataset.DefaultTableMetaData;
+import org.dbunit.dataset.IDataSet;
 import org.dbunit.dataset.ITableMetaData;
-import org.dbunit.dataset.NoSuchColumnException;
+import org.dbunit.dataset.stream.IDataSetProducer;
+import org.dbunit.dataset.stream.StreamingDataSet;
 
-import java.beans.IntrospectionException;
-import java.beans.Introspector;
-import java.beans.PropertyDescriptor;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
-import java.util.LinkedList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 /**
  * An implementation of the {@link org.dbunit.dataset.ITable ITable} interface that treats the
  * specified zero or more POJOs as a table.
  *
+ * <p>{@link #select(String...)}, {@link #where(Predicate)} and {@link #slice(int, int)} return views of a table,
+ * which share the POJOs, the column accessors and the snapshot of the table instead of copying them. The views can
+ * be combined in any order.</p>
+ *
  * @param <T> the type of the POJO
  * @see BeanTable.Builder
  */
 public class BeanTable<T> extends AbstractTable {
 
-    private final Map<String, BeanColumn> columns;
+    private final BeanColumns columns;
+
+    private final RowStore.Rows rows;
+
+    private final ColumnValues[] snapshot;
+
+    private final BeanTableMetaData tableMetaData;
+
+    private final int rowCount;
+
+    private final int rowOffset;
+
+    private final int[] rowIndexes;
 
-    private final Object[] rows;
+    private BeanTable(Builder<T> builder, BeanColumns resolvedColumns, ColumnValues[] takenSnapshot,
+                      boolean snapshot) {
+        long start = builder.metrics == null ? 0L : System.nanoTime();
+        rows = builder.rowStore.seal();
+        columns = resolvedColumns == null ? resolveColumns(builder, rows) : resolvedColumns;
+        ColumnValues[] values = takenSnapshot;
+        if (values == null && snapshot) values = takeSnapshot(columns, rows, builder.pool);
+        if (values != null && builder.dictionary) {
+            for (int c = 0; c < values.length; c++) {
+                values[c] = ColumnValues.encode(values[c]);
+            }
+        }
+        this.snapshot = values;
+        tableMetaData = new BeanTableMetaData(builder.tableName, columns);
+        rowCount = rows.size;
+        rowOffset = 0;
+        rowIndexes = null;
+        if (builder.metrics != null) {
+            builder.metrics.built(builder.tableName, columns.size(), rows.size, System.nanoTime() - start);
+        }
+    }
 
-    private final ITableMetaData tableMetaData;
+    private BeanTable(BeanTable<T> table, BeanTableMetaData tableMetaData, ColumnValues[] snapshot, int rowCount,
+                      int rowOffset, int[] rowIndexes) {
+        this.rows = table.rows;
+        this.columns = tableMetaData.getBeanColumns();
+        this.snapshot = snapshot;
+        this.tableMetaData = tableMetaData;
+        this.rowCount = rowCount;
+        this.rowOffset = rowOffset;
+        this.rowIndexes = rowIndexes;
+    }
 
-    private BeanTable(Builder<T> builder) {
-        rows = builder.beanList.toArray();
-        PropertyDescriptor[] descriptors;
+    private static ColumnValues[] takeSnapshot(BeanColumns columns, RowStore.Rows rows, ForkJoinPool pool) {
+        ColumnValues[] snapshot = new ColumnValues[columns.size()];
+        for (int c = 0; c < snapshot.length; c++) {
+            snapshot[c] = ColumnValues.of(columns.get(c).getValueType(), rows.size);
+        }
         try {
-            descriptors = Introspector.getBeanInfo(builder.type, builder.base)
-                .getPropertyDescriptors();
-        } catch (IntrospectionException e) {
+            if (pool == null) {
+                for (int r = 0; r < rows.size; r++) {
+                    Object bean = rows.get(r);
+                    for (int c = 0; c < snapshot.length; c++) {
+                        snapshot[c].add(columns.get(c).getValue(bean));
+                    }
+                }
+            } else {
+                Chunks.forEach(pool, rows.size, (from, to) -> {
+                    for (int r = from; r < to; r++) {
+                        Object bean = rows.get(r);
+                        for (int c = 0; c < snapshot.length; c++) {
+                            snapshot[c].set(r, columns.get(c).getValue(bean));
+                        }
+                    }
+                });
+                for (ColumnValues values : snapshot) {
+                    values.size = rows.size;
+                }
+            }
+        } catch (DataSetException e) {
             throw new DatabaseUnitRuntimeException(e);
         }
-        Map<String, BeanColumn> columnMap = new HashMap<String, BeanColumn>();
-        List<Column> dbUnitColumns = new ArrayList<Column>(descriptors.length);
-        for (PropertyDescriptor descriptor : descriptors) {
-            if (descriptor.getReadMethod() == null) continue;
-            if (builder.excludedTypes.contains(descriptor.getPropertyType())) continue;
-            BeanColumn column = new BeanColumn(descriptor, builder.naming);
-            if (builder.excludedNames.contains(column.getName())) continue;
-            columnMap.put(column.getName(), column);
-            dbUnitColumns.add(column.toDbUnitColumn());
+        for (ColumnValues values : snapshot) {
+            values.trim();
+        }
+        return snapshot;
+    }
+
+    private static BeanColumns resolveColumns(Builder<?> builder, RowStore.Rows rows) {
+        BeanColumns columns = builder.polymorphic ? unionColumns(builder, rows) : lookupColumns(builder, builder.type);
+        if (builder.metrics == null) return columns;
+        return MeteredBeanColumn.meter(columns, builder.tableName, builder.metrics);
+    }
+
+    private static BeanColumns unionColumns(Builder<?> builder, RowStore.Rows rows) {
+        Map<Class<?>, BeanColumns> columnsByClass = new LinkedHashMap<Class<?>, BeanColumns>();
+        Class<?> last = null;
+        for (int r = 0; r < rows.size; r++) {
+            Class<?> type = rows.get(r).getClass();
+            if (type == last) continue;
+            last = type;
+            if (!columnsByClass.containsKey(type)) columnsByClass.put(type, lookupColumns(builder, type));
+        }
+        BeanColumns declared = lookupColumns(builder, builder.type);
+        if (columnsByClass.isEmpty()) return declared;
+        if (columnsByClass.size() == 1) return columnsByClass.values().iterator().next();
+        Set<String> names = new LinkedHashSet<String>();
+        for (int c = 0; c < declared.size(); c++) {
+            names.add(declared.get(c).getName());
+        }
+        Set<String> extraNames = new TreeSet<String>();
+        for (BeanColumns columns : columnsByClass.values()) {
+            for (int c = 0; c < columns.size(); c++) {
+                if (!names.contains(columns.get(c).getName())) extraNames.add(columns.get(c).getName());
+            }
+        }
+        names.addAll(extraNames);
+        Class<?>[] types = columnsByClass.keySet().toArray(new Class<?>[0]);
+        List<BeanColumn> union = new ArrayList<BeanColumn>(names.size());
+        for (String name : names) {
+            BeanColumn[] columns = new BeanColumn[types.length];
+            for (int i = 0; i < types.length; i++) {
+                BeanColumns classColumns = columnsByClass.get(types[i]);
+                int index = classColumns.indexOf(name);
+                columns[i] = index < 0 ? null : classColumns.get(index);
+            }
+            union.add(new PolymorphicBeanColumn(name, builder.type, types, columns));
+        }
+        return new BeanColumns(union.toArray(new BeanColumn[0]));
+    }
+
+    private static BeanColumns lookupColumns(Builder<?> builder, Class<?> type) {
+        MetaDataCache.Key key = new MetaDataCache.Key(builder.base, builder.naming, builder.accessor,
+            builder.introspection, builder.excludedNames, builder.excludedTypes, builder.paths, builder.flattenDepth);
+        BeanColumns columns = MetaDataCache.get(type, key);
+        if (columns != null) return columns;
+        long start = System.nanoTime();
+        BeanTableAdapter<?> adapter = builder.accessor == null && builder.introspection == Introspection.JAVA_BEANS
+            && builder.paths.isEmpty() && builder.flattenDepth == 0 ? BeanTableAdapters.find(type) : null;
+        BeanColumn[] beanColumns = adapter == null ? introspect(builder, type) : adapt(builder, adapter);
+        if (builder.metrics != null) builder.metrics.introspected(type, System.nanoTime() - start);
+        return MetaDataCache.put(type, key, new BeanColumns(beanColumns));
+    }
+
+    private static BeanColumn[] introspect(Builder<?> builder, Class<?> type) {
+        List<Property> properties = builder.introspection.properties(type, builder.base);
+        List<BeanColumn> columnList = new ArrayList<BeanColumn>(properties.size() + builder.paths.size());
+        for (Property property : properties) {
+            for (Property[] path : PropertyPath.flatten(property, builder.flattenDepth, builder.introspection)) {
+                addColumn(builder, path, columnList);
+            }
+        }
+        for (String path : builder.paths) {
+            addColumn(builder, PropertyPath.resolve(type, path, builder.introspection), columnList);
+        }
+        return columnList.toArray(new BeanColumn[0]);
+    }
+
+    private static void addColumn(Builder<?> builder, Property[] path, List<BeanColumn> columnList) {
+        if (builder.excludedTypes.contains(path[path.length - 1].getType())) return;
+        BeanColumn column = PropertyPath.column(path, builder.naming,
+            builder.accessor == null ? Accessor.LAMBDA : builder.accessor);
+        if (builder.excludedNames.contains(column.getName())) return;
+        columnList.add(column);
+    }
+
+    private static BeanColumn[] adapt(Builder<?> builder, BeanTableAdapter<?> adapter) {
+        List<BeanColumn> columnList = new ArrayList<BeanColumn>(adapter.size());
+        for (int i = 0; i < adapter.size(); i++) {
+            Class<?> declaringClass = adapter.getDeclaringClass(i);
+            if (declaringClass.isAssignableFrom(builder.base)) continue;
+            if (builder.excludedTypes.contains(adapter.getPropertyType(i))) continue;
+            String name = builder.naming.resolve(adapter.getPropertyName(i));
+            if (builder.excludedNames.contains(name)) continue;
+            columnList.add(new BeanColumn(name, adapter.getPropertyType(i), declaringClass,
+                BeanTableAdapters.getter(adapter, i)));
         }
-        columns = Collections.unmodifiableMap(columnMap);
-        tableMetaData = new DefaultTableMetaData(builder.tableName, dbUnitColumns.toArray(new Column[0]));
+        return columnList.toArray(new BeanColumn[0]);
     }
 
     @Override
     public int getRowCount() {
-        return rows.length;
+        return rowCount;
     }
 
     @Override
@@ -93,10 +245,161 @@ public class BeanTable<T> extends AbstractTable {
 
     @Override
     public Object getValue(int row, String column) throws DataSetException {
+        return getValue(row, tableMetaData.getColumnIndex(column));
+    }
+
+    /**
+     * Returns the value of the specified cell.
+     *
+     * <p>This is faster than {@link #getValue(int, String)} as it does not need to resolve the column name. The
+     * column index is the one returned by {@link ITableMetaData#getColumnIndex(String)}.</p>
+     *
+     * @param row    the row index
+     * @param column the column index
+     * @return the value of the cell
+     * @throws DataSetException          if the row index is out of range or failed to read the property
+     * @throws IndexOutOfBoundsException if the column index is out of range
+     */
+    public Object getValue(int row, int column) throws DataSetException {
+        assertValidRowIndex(row);
+        int index = rowIndex(row);
+        if (snapshot != null) return snapshot[column].get(index);
+        return columns.get(column).getValue(rows.get(index));
+    }
+
+    /**
+     * Returns a view of this table having the specified columns in the specified order.
+     *
+     * <p>The column names are resolved as {@link ITableMetaData#getColumnIndex(String)} does.</p>
+     *
+     * @param columnNames the names of the columns to select, non-nullable
+     * @return a view of this table
+     * @throws DataSetException         if this table has no such column
+     * @throws IllegalArgumentException if the same column is specified twice
+     */
+    public BeanTable<T> select(String... columnNames) throws DataSetException {
+        if (columnNames == null) throw new NullPointerException("columnNames must not be null");
+        BeanColumn[] selected = new BeanColumn[columnNames.length];
+        ColumnValues[] selectedSnapshot = snapshot == null ? null : new ColumnValues[columnNames.length];
+        Set<Integer> indexes = new HashSet<Integer>();
+        for (int i = 0; i < columnNames.length; i++) {
+            int index = tableMetaData.getColumnIndex(columnNames[i]);
+            if (!indexes.add(index)) {
+                throw new IllegalArgumentException(String.format("%1s is selected twice", columnNames[i]));
+            }
+            selected[i] = columns.get(index);
+            if (snapshot != null) selectedSnapshot[i] = snapshot[index];
+        }
+        BeanTableMetaData selectedMetaData = new BeanTableMetaData(tableMetaData.getTableName(),
+            new BeanColumns(selected));
+        return new BeanTable<T>(this, selectedMetaData, selectedSnapshot, rowCount, rowOffset, rowIndexes);
+    }
+
+    /**
+     * Returns a view of this table having the rows whose POJOs match the specified predicate.
+     *
+     * <p>The predicate is evaluated once per row on the POJOs, not on the column values, and the view holds only
+     * the indexes of the matched rows.</p>
+     *
+     * @param predicate the predicate to match the POJOs, non-nullable
+     * @return a view of this table
+     */
+    @SuppressWarnings("unchecked")
+    public BeanTable<T> where(Predicate<? super T> predicate) {
+        if (predicate == null) throw new NullPointerException("predicate must not be null");
+        int[] matched = new int[rowCount];
+        int count = 0;
+        for (int r = 0; r < rowCount; r++) {
+            int index = rowIndex(r);
+            if (predicate.test((T) rows.get(index))) matched[count++] = index;
+        }
+        return new BeanTable<T>(this, tableMetaData, snapshot, count, 0, Arrays.copyOf(matched, count));
+    }
+
+    /**
+     * Returns a view of this table having the rows in the specified range.
+     *
+     * @param from the index of the first row, inclusive
+     * @param to   the index of the last row, exclusive
+     * @return a view of this table
+     * @throws IndexOutOfBoundsException if {@code from} is negative, {@code to} is greater than the row count, or
+     *                                   {@code from} is greater than {@code to}
+     */
+    public BeanTable<T> slice(int from, int to) {
+        if (from < 0 || rowCount < to || to < from) {
+            throw new IndexOutOfBoundsException(String.format("from: %1d, to: %2d, rows: %3d", from, to, rowCount));
+        }
+        return new BeanTable<T>(this, tableMetaData, snapshot, to - from, rowOffset + from, rowIndexes);
+    }
+
+    Object[] dictionary(int column) {
+        return snapshot == null ? null : snapshot[column].dictionary();
+    }
+
+    int code(int row, int column) throws DataSetException {
         assertValidRowIndex(row);
-        BeanColumn c = columns.get(column);
-        if (c == null) throw new NoSuchColumnException(tableMetaData.getTableName(), column);
-        return c.getValue(rows[row]);
+        return snapshot[column].code(rowIndex(row));
+    }
+
+    private int rowIndex(int row) {
+        return rowIndexes == null ? rowOffset + row : rowIndexes[rowOffset + row];
+    }
+
+    static final class Appender<T> {
+
+        private final Builder<T> builder;
+
+        private final BeanColumns columns;
+
+        private final ColumnValues[] snapshot;
+
+        private Appender(Builder<T> builder) {
+            this.builder = builder;
+            if (!builder.snapshot || builder.polymorphic) {
+                // the columns of a polymorphic table are not known until all the POJOs are added
+                columns = null;
+                snapshot = null;
+                return;
+            }
+            columns = resolveColumns(builder, null);
+            snapshot = new ColumnValues[columns.size()];
+            RowStore.Rows rows = builder.rowStore.seal();
+            for (int c = 0; c < snapshot.length; c++) {
+                snapshot[c] = ColumnValues.of(columns.get(c).getValueType(), Math.max(rows.size, 16));
+            }
+            try {
+                for (int r = 0; r < rows.size; r++) {
+                    read(rows.get(r));
+                }
+            } catch (DataSetException e) {
+                throw new DatabaseUnitRuntimeException(e);
+            }
+        }
+
+        void add(T bean) throws DataSetException {
+            if (bean == null) throw new NullPointerException("bean must not be null");
+            if (snapshot != null) read(bean);
+            builder.rowStore.add(bean);
+        }
+
+        BeanTable<T> build() {
+            if (snapshot == null) return builder.build();
+            for (ColumnValues values : snapshot) {
+                values.trim();
+            }
+            return new BeanTable<T>(builder, columns, snapshot, true);
+        }
+
+        private void read(Object bean) throws DataSetException {
+            Object[] values = new Object[snapshot.length];
+            for (int c = 0; c < values.length; c++) {
+                values[c] = columns.get(c).getValue(bean);
+            }
+            for (int c = 0; c < values.length; c++) {
+                snapshot[c].add(values[c]);
+            }
+        }
+
     }
 
     /**
@@ -110,15 +413,33 @@ public class BeanTable<T> extends AbstractTable {
 
         private final String tableName;
 
-        private final List<T> beanList = new LinkedList<T>();
+        private final RowStore rowStore = new RowStore();
 
         private final Set<String> excludedNames = new HashSet<String>();
 
         private final Set<Class<?>> excludedTypes = new HashSet<Class<?>>();
 
+        private final List<String> paths = new ArrayList<String>();
+
         private Class<? super T> base = Object.class;
 
-        private Naming naming = Naming.RAW;
+        private NamingStrategy naming = Naming.RAW;
+
+        private Accessor accessor;
+
+        private Introspection introspection = Introspection.JAVA_BEANS;
+
+        private int flattenDepth;
+
+        private boolean snapshot;
+
+        private boolean dictionary;
+
+        private boolean polymorphic;
+
+        private BeanTableMetrics metrics;
+
+        private ForkJoinPool pool;
 
         /**
          * Constructs a builder.
@@ -142,6 +463,23 @@ public class BeanTable<T> extends AbstractTable {
             this.tableName = tableName;
         }
 
+        /**
+         * Specifies the strategy for reading property values.
+         *
+         * <p>Specifying a strategy, even {@link Accessor#LAMBDA}, disables the adapter generated for a
+         * {@link BeanTableSource} annotated class, so that the properties are read by the specified strategy.</p>
+         *
+         * <p>Default: the generated adapter if exists, otherwise {@link Accessor#LAMBDA}</p>
+         *
+         * @param accessor the strategy for reading property values, non-nullable
+         * @return the reference to this object
+         */
+        public Builder<T> accessor(Accessor accessor) {
+            if (accessor == null) throw new NullPointerException("accessor must not be null");
+            this.accessor = accessor;
+            return this;
+        }
+
         /**
          * Appends the specified POJO to this builder.
          *
@@ -149,8 +487,7 @@ public class BeanTable<T> extends AbstractTable {
          * @return the reference to this object
          */
         public Builder<T> add(T bean) {
-            if (bean == null) throw new NullPointerException("bean must not be null");
-            beanList.add(bean);
+            rowStore.add(bean);
             return this;
         }
 
@@ -161,10 +498,7 @@ public class BeanTable<T> extends AbstractTable {
          * @return the reference to this object
          */
         public Builder<T> add(T... beans) {
-            for (T bean : beans) {
-                if (bean == null) throw new NullPointerException("beans must not contain null");
-                beanList.add(bean);
-            }
+            rowStore.addAll(beans);
             return this;
         }
 
@@ -175,10 +509,7 @@ public class BeanTable<T> extends AbstractTable {
          * @return the reference to this object
          */
         public Builder<T> add(Collection<? extends T> beans) {
-            for (T bean : beans) {
-                if (bean == null) throw new NullPointerException("beans must not contain null");
-                beanList.add(bean);
-            }
+            rowStore.addAll(beans);
             return this;
         }
 
@@ -202,7 +533,56 @@ public class BeanTable<T> extends AbstractTable {
          * @return a new {@link BeanTable} instance
          */
         public BeanTable<T> build() {
-            return new BeanTable<T>(this);
+            return build(false);
+        }
+
+        BeanTable<T> build(boolean snapshot) {
+            return new BeanTable<T>(this, null, null, snapshot || this.snapshot);
+        }
+
+        /**
+         * Constructs a {@link BeanTable} instance once the specified POJOs are available.
+         *
+         * <p>The POJOs are appended to this builder and the table is built by the thread completing the specified
+         * stage, so that the caller is not blocked while the POJOs are being produced. This builder must not be
+         * modified until the returned stage completes.</p>
+         *
+         * @param beans the stage completed with the POJOs to add, non-nullable
+         * @return a new stage completed with a new {@link BeanTable} instance
+         * @see BeanTableSubscriber
+         */
+        public CompletionStage<BeanTable<T>> buildAsync(CompletionStage<? extends Collection<? extends T>> beans) {
+            if (beans == null) throw new NullPointerException("beans must not be null");
+            return beans.thenApply(b -> add(b).build());
+        }
+
+        /**
+         * Specifies to dictionary-encode the columns of low cardinality when taking a snapshot.
+         *
+         * <p>The distinct values of such a column are held once in a per-column dictionary, and each row holds the
+         * code of its value in a {@code byte}, {@code short} or {@code int} array, the narrowest one to fit the
+         * cardinality. A column is encoded only if it has at most half as many distinct values as the rows. Equal
+         * values of different classes are not merged. {@link TableFingerprint} and {@link TableComparator} read the
+         * values of an encoded column once per distinct value or pair of distinct values.</p>
+         *
+         * <p>This implies {@link #snapshot()}.</p>
+         *
+         * <p>Default: the values are held as read</p>
+         *
+         * @return the reference to this object
+         */
+        public Builder<T> dictionary() {
+            this.snapshot = true;
+            this.dictionary = true;
+            return this;
+        }
+
+        String tableName() {
+            return tableName;
+        }
+
+        Appender<T> appender() {
+            return new Appender<T>(this);
         }
 
         /**
@@ -233,6 +613,54 @@ public class BeanTable<T> extends AbstractTable {
             return this;
         }
 
+        /**
+         * Specifies to flatten the properties of nested POJOs into columns.
+         *
+         * <p>A property whose type is neither mapped to a {@link org.dbunit.dataset.datatype.DataType DataType} by
+         * {@link DataTypeMappings} nor a JDK type is replaced by the properties of that type, down to the specified
+         * depth, as {@link #path(String...)} does. Example: with the depth {@code 1}, {@code address} is replaced
+         * by {@code address_city}, {@code address_street} and so on. A nested POJO which has no properties, or
+         * which is not a record under {@link Introspection#RECORD_COMPONENTS}, is mapped to a column as is.</p>
+         *
+         * <p>Default: {@code 0}; no property is flattened</p>
+         *
+         * @param depth the maximum depth of the nested POJOs to flatten, non-negative
+         * @return the reference to this object
+         */
+        public Builder<T> flatten(int depth) {
+            if (depth < 0) throw new IllegalArgumentException("depth must not be negative");
+            this.flattenDepth = depth;
+            return this;
+        }
+
+        /**
+         * Specifies the strategy for finding properties.
+         *
+         * <p>Default: {@link Introspection#JAVA_BEANS}</p>
+         *
+         * @param introspection the strategy for finding properties, non-nullable
+         * @return the reference to this object
+         */
+        public Builder<T> introspection(Introspection introspection) {
+            if (introspection == null) throw new NullPointerException("introspection must not be null");
+            this.introspection = introspection;
+            return this;
+        }
+
+        /**
+         * Specifies the listener to receive the costs of building the table and reading its cells.
+         *
+         * <p>Default: none; the table is not instrumented</p>
+         *
+         * @param metrics the listener, non-nullable
+         * @return the reference to this object
+         */
+        public Builder<T> metrics(BeanTableMetrics metrics) {
+            if (metrics == null) throw new NullPointerException("metrics must not be null");
+            this.metrics = metrics;
+            return this;
+        }
+
         /**
          * Specifies the naming convention for columns.
          *
@@ -240,13 +668,151 @@ public class BeanTable<T> extends AbstractTable {
          *
          * @param naming the naming convention, non-nullable
          * @return the reference to this object
+         * @see NamingStrategy#prefixed(String, NamingStrategy)
          */
-        public Builder<T> naming(Naming naming) {
+        public Builder<T> naming(NamingStrategy naming) {
             if (naming == null) throw new NullPointerException("naming must not be null");
             this.naming = naming;
             return this;
         }
 
+        /**
+         * Specifies to read the property values in parallel when taking a snapshot.
+         *
+         * <p>The POJOs are split into chunks, and the chunks are read on the specified pool. The snapshot, and the
+         * exception thrown if some property cannot be read, are the same as when reading sequentially. This has no
+         * effect unless {@link #snapshot()} is specified.</p>
+         *
+         * <p>Default: none; the property values are read sequentially</p>
+         *
+         * @param pool the pool to read the property values on, non-nullable
+         * @return the reference to this object
+         */
+        public Builder<T> parallel(ForkJoinPool pool) {
+            if (pool == null) throw new NullPointerException("pool must not be null");
+            this.pool = pool;
+            return this;
+        }
+
+        /**
+         * Appends columns of nested properties.
+         *
+         * <p>A path is property names joined with dots, such as {@code address.city}. The column name is the names
+         * resolved by the naming convention and joined with underscores, such as {@code address_city}. Each path is
+         * read via a single chained accessor, and is {@code null} if any POJO on the path is {@code null}.</p>
+         *
+         * @param paths the dotted property paths, non-nullable
+         * @return the reference to this object
+         */
+        public Builder<T> path(String... paths) {
+            for (String path : paths) {
+                if (path == null) throw new NullPointerException("paths must not contain null");
+                this.paths.add(path);
+            }
+            return this;
+        }
+
+        /**
+         * Specifies to resolve the columns per concrete class of the POJOs added.
+         *
+         * <p>The table has the union of the columns of the classes: the columns of the POJO type in order, followed
+         * by the columns only some subclasses have in the order of their names. A POJO having no property for a
+         * column reads as {@code null}. Each column dispatches to the accessor of the concrete class, so that the
+         * read methods are bound to the concrete classes instead of the POJO type. A column read as different data
+         * types by the classes is {@link org.dbunit.dataset.datatype.DataType#UNKNOWN UNKNOWN}.</p>
+         *
+         * <p>The POJOs cannot be streamed in this mode.</p>
+         *
+         * <p>Default: the columns are the ones of the POJO type</p>
+         *
+         * @return the reference to this object
+         */
+        public Builder<T> polymorphic() {
+            this.polymorphic = true;
+            return this;
+        }
+
+        /**
+         * Constructs a producer that streams the specified POJOs as a table.
+         *
+         * <p>The POJOs are read forward-only when the producer produces, and are not held by the producer. The
+         * producer can produce only once.</p>
+         *
+         * @param beans the POJOs to stream, non-nullable
+         * @return a new producer
+         * @throws IllegalStateException if some POJOs have already been added to this builder
+         */
+        public IDataSetProducer producer(Iterator<? extends T> beans) {
+            return producer(beans, null);
+        }
+
+        private IDataSetProducer producer(Iterator<? extends T> beans, AutoCloseable resource) {
+            if (beans == null) throw new NullPointerException("beans must not be null");
+            if (rowStore.size() != 0) throw new IllegalStateException("beans have already been added");
+            if (polymorphic) throw new IllegalStateException("polymorphic tables cannot be streamed");
+            return new BeanTableProducer(new BeanTableMetaData(tableName, resolveColumns(this, null)), beans, resource);
+        }
+
+        /**
+         * Specifies to read all property values when building a table.
+         *
+         * <p>Each property is read exactly once, and the values are held in per-column arrays; primitive
+         * {@code int}, {@code long}, {@code double} and {@code boolean} properties are held in primitive arrays.
+         * The built table is not affected by later changes to the POJOs.</p>
+         *
+         * @return the reference to this object
+         */
+        public Builder<T> snapshot() {
+            this.snapshot = true;
+            return this;
+        }
+
+        /**
+         * Appends the specified POJO list to this builder without copying it.
+         *
+         * <p>If the list implements {@link java.util.RandomAccess} and no other POJOs are added to this builder,
+         * the built table reads the list directly; otherwise the POJOs are copied as {@link #add(Collection)} does.
+         * The caller must not modify the list while the built table is used.</p>
+         *
+         * @param beans the POJOs to add, non-nullable
+         * @return the reference to this object
+         */
+        public Builder<T> wrap(List<? extends T> beans) {
+            if (beans == null) throw new NullPointerException("beans must not be null");
+            rowStore.wrap(beans);
+            return this;
+        }
+
+        /**
+         * Constructs a data set that streams the specified POJOs as a single table.
+         *
+         * <p>The returned data set is a {@link StreamingDataSet}; its table can be iterated only once and its rows
+         * can be read only forward, so that the POJOs need not be held in memory.</p>
+         *
+         * @param beans the POJOs to stream, non-nullable
+         * @return a new data set
+         * @throws IllegalStateException if some POJOs have already been added to this builder
+         * @see #producer(Iterator)
+         */
+        public IDataSet stream(Iterator<? extends T> beans) {
+            return new StreamingDataSet(producer(beans));
+        }
+
+        /**
+         * Constructs a data set that streams the specified POJOs as a single table.
+         *
+         * <p>The specified stream is closed after all the POJOs are consumed.</p>
+         *
+         * @param beans the POJOs to stream, non-nullable
+         * @return a new data set
+         * @throws IllegalStateException if some POJOs have already been added to this builder
+         * @see #stream(Iterator)
+         */
+        public IDataSet stream(Stream<? extends T> beans) {
+            if (beans == null) throw new NullPointerException("beans must not be null");
+            return new StreamingDataSet(producer(beans.iterator(), beans));
+        }
+
     }
 
 }
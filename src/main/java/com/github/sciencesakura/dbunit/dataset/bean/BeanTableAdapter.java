@@ -0,0 +1,97 @@
+/*
+ * The MIT License
+ * Copyright (c) 2018 sciencesakura
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.sciencesakura.dbunit.dataset.bean;
+
+import java.lang.reflect.UndeclaredThrowableException;
+
+/**
+ * Provides the properties of a POJO class and reads them with direct method calls.
+ *
+ * <p>This interface is implemented by the classes generated for {@link BeanTableSource} annotated classes. The
+ * properties are the same as the ones {@link java.beans.Introspector} finds, and are indexed in the order of their
+ * names.</p>
+ *
+ * @param <T> the type of the POJO
+ */
+public interface BeanTableAdapter<T> {
+
+    /**
+     * Returns the number of the properties.
+     *
+     * @return the number of the properties
+     */
+    int size();
+
+    /**
+     * Returns the name of the specified property.
+     *
+     * @param index the index of the property
+     * @return the property name
+     */
+    String getPropertyName(int index);
+
+    /**
+     * Returns the type of the specified property.
+     *
+     * @param index the index of the property
+     * @return the property type
+     */
+    Class<?> getPropertyType(int index);
+
+    /**
+     * Returns the class declaring the read method of the specified property.
+     *
+     * @param index the index of the property
+     * @return the class declaring the read method
+     */
+    Class<?> getDeclaringClass(int index);
+
+    /**
+     * Reads the specified property of the specified POJO.
+     *
+     * @param bean  the POJO
+     * @param index the index of the property
+     * @return the property value
+     */
+    Object getValue(T bean, int index);
+
+    /**
+     * Thrown by {@link #getValue(Object, int)} of a generated adapter to rethrow the checked exception thrown by a
+     * read method.
+     */
+    final class ReadMethodException extends UndeclaredThrowableException {
+
+        private static final long serialVersionUID = -3046528172493853451L;
+
+        /**
+         * Constructs an exception.
+         *
+         * @param cause the checked exception thrown by the read method
+         */
+        public ReadMethodException(Throwable cause) {
+            super(cause);
+        }
+
+    }
+
+}
@@ -0,0 +1,95 @@
+/*
+ * The MIT License
+ * Copyright (c) 2018 sciencesakura
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.sciencesakura.dbunit.dataset.bean;
+
+import org.dbunit.DatabaseUnitRuntimeException;
+
+
+final class BeanTableAdapters {
+
+    private static final String SUFFIX = "_BeanTableAdapter";
+
+    private static final ClassValue<BeanTableAdapter<?>> ADAPTERS = new ClassValue<BeanTableAdapter<?>>() {
+        @Override
+        protected BeanTableAdapter<?> computeValue(Class<?> type) {
+            return load(type);
+        }
+    };
+
+    private BeanTableAdapters() {
+    }
+
+    static BeanTableAdapter<?> find(Class<?> type) {
+        return ADAPTERS.get(type);
+    }
+
+    static Getter getter(final BeanTableAdapter<?> adapter, final int index) {
+        @SuppressWarnings("unchecked")
+        final BeanTableAdapter<Object> a = (BeanTableAdapter<Object>) adapter;
+        return new Getter() {
+            @Override
+            public Object get(Object bean) throws Throwable {
+                try {
+                    return a.getValue(bean, index);
+                } catch (BeanTableAdapter.ReadMethodException e) {
+                    throw e.getUndeclaredThrowable();
+                }
+            }
+        };
+    }
+
+    private static String adapterName(Class<?> type) {
+        String name = type.getName();
+        int simpleNameStart = name.lastIndexOf('.') + 1;
+        StringBuilder adapterName = new StringBuilder(name.length() + SUFFIX.length() + 8);
+        adapterName.append(name, 0, simpleNameStart);
+        for (int i = simpleNameStart; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (c == '_') {
+                adapterName.append("_1");
+            } else if (c == '$') {
+                adapterName.append("_0");
+            } else {
+                adapterName.append(c);
+            }
+        }
+        return adapterName.append(SUFFIX).toString();
+    }
+
+    private static BeanTableAdapter<?> load(Class<?> type) {
+        if (type.isPrimitive() || type.isArray() || type.getClassLoader() == null) return null;
+        Class<?> adapterClass;
+        try {
+            adapterClass = Class.forName(adapterName(type), true, type.getClassLoader());
+        } catch (ClassNotFoundException e) {
+            return null;
+        }
+        if (!BeanTableAdapter.class.isAssignableFrom(adapterClass)) return null;
+        try {
+            return (BeanTableAdapter<?>) adapterClass.newInstance();
+        } catch (InstantiationException | IllegalAccessException e) {
+            throw new DatabaseUnitRuntimeException(String.format("failed to instantiate %1s", adapterClass.getName()), e);
+        }
+    }
+
+}
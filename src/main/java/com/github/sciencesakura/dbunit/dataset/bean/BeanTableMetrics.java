@@ -0,0 +1,74 @@
+/*
+ * The MIT License
+ * Copyright (c) 2018 sciencesakura
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.sciencesakura.dbunit.dataset.bean;
+
+/**
+ * Receives the costs of building {@link BeanTable}s and reading their cells.
+ *
+ * <p>A listener is attached with {@link BeanTable.Builder#metrics(BeanTableMetrics)}; tables built without a
+ * listener are not instrumented at all. The methods may be called concurrently from multiple threads, so
+ * implementations must be thread-safe.</p>
+ *
+ * @see InMemoryBeanTableMetrics
+ */
+public interface BeanTableMetrics {
+
+    /**
+     * Called when the properties of a POJO class have been introspected.
+     *
+     * <p>This is not called when the columns are found in {@link MetaDataCache}.</p>
+     *
+     * @param type  the type of the POJO
+     * @param nanos the elapsed time in nanoseconds
+     */
+    void introspected(Class<?> type, long nanos);
+
+    /**
+     * Called when a table has been built.
+     *
+     * @param tableName   the table name
+     * @param columnCount the number of the columns
+     * @param rowCount    the number of the rows
+     * @param nanos       the elapsed time in nanoseconds, including the introspection and the snapshot
+     */
+    void built(String tableName, int columnCount, int rowCount, long nanos);
+
+    /**
+     * Called when a property value has been read.
+     *
+     * @param tableName  the table name
+     * @param columnName the column name
+     * @param nanos      the elapsed time of the getter call in nanoseconds
+     */
+    void read(String tableName, String columnName, long nanos);
+
+    /**
+     * Called when reading a property value has failed.
+     *
+     * @param tableName  the table name
+     * @param columnName the column name
+     * @param cause      the exception thrown
+     */
+    void failed(String tableName, String columnName, Throwable cause);
+
+}
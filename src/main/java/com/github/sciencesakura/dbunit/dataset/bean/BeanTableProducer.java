@@ -0,0 +1,90 @@
+/*
+ * The MIT License
+ * Copyright (c) 2018 sciencesakura
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.sciencesakura.dbunit.dataset.bean;
+
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.stream.DefaultConsumer;
+import org.dbunit.dataset.stream.IDataSetConsumer;
+import org.dbunit.dataset.stream.IDataSetProducer;
+
+import java.util.Iterator;
+
+class BeanTableProducer implements IDataSetProducer {
+
+    private final BeanTableMetaData tableMetaData;
+
+    private final BeanColumns columns;
+
+    private final Iterator<?> beans;
+
+    private final AutoCloseable resource;
+
+    private IDataSetConsumer consumer = new DefaultConsumer();
+
+    private boolean produced;
+
+    BeanTableProducer(BeanTableMetaData tableMetaData, Iterator<?> beans, AutoCloseable resource) {
+        this.tableMetaData = tableMetaData;
+        this.columns = tableMetaData.getBeanColumns();
+        this.beans = beans;
+        this.resource = resource;
+    }
+
+    @Override
+    public void setConsumer(IDataSetConsumer consumer) throws DataSetException {
+        this.consumer = consumer;
+    }
+
+    @Override
+    public void produce() throws DataSetException {
+        if (produced) throw new IllegalStateException("beans have already been produced");
+        produced = true;
+        try {
+            consumer.startDataSet();
+            consumer.startTable(tableMetaData);
+            while (beans.hasNext()) {
+                Object bean = beans.next();
+                if (bean == null) throw new NullPointerException("beans must not contain null");
+                Object[] values = new Object[columns.size()];
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = columns.get(i).getValue(bean);
+                }
+                consumer.row(values);
+            }
+        } finally {
+            close();
+        }
+        consumer.endTable();
+        consumer.endDataSet();
+    }
+
+    private void close() throws DataSetException {
+        if (resource == null) return;
+        try {
+            resource.close();
+        } catch (Exception e) {
+            throw new DataSetException(e);
+        }
+    }
+
+}
@@ -0,0 +1,152 @@
+/*
+ * The MIT License
+ * Copyright (c) 2018 sciencesakura
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.sciencesakura.dbunit.dataset.bean;
+
+import org.dbunit.dataset.DataSetException;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * A Reactive Streams {@link Subscriber} that builds a {@link BeanTable} from the POJOs published.
+ *
+ * <p>The POJOs are requested in batches and appended to the builder as they arrive, so that the table is built
+ * while the publisher is still producing. If the builder is specified to take a snapshot, the property values are
+ * read on arrival as well. The table is built when the publisher completes.</p>
+ *
+ * <p>This subscriber can subscribe only once, and the builder must not be modified until the table is built. This
+ * class requires the Reactive Streams API at runtime.</p>
+ *
+ * @param <T> the type of the POJO
+ */
+public final class BeanTableSubscriber<T> implements Subscriber<T> {
+
+    private static final int DEFAULT_BATCH_SIZE = 1024;
+
+    private final BeanTable.Builder<T> builder;
+
+    private final int batchSize;
+
+    private final int replenishSize;
+
+    private final CompletableFuture<BeanTable<T>> table = new CompletableFuture<BeanTable<T>>();
+
+    private BeanTable.Appender<T> appender;
+
+    private Subscription subscription;
+
+    private int received;
+
+    /**
+     * Constructs a subscriber requesting 1024 POJOs at a time.
+     *
+     * @param builder the builder to append the POJOs to, non-nullable
+     */
+    public BeanTableSubscriber(BeanTable.Builder<T> builder) {
+        this(builder, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Constructs a subscriber.
+     *
+     * <p>The subscriber requests {@code batchSize} POJOs first, and requests more whenever half of them have
+     * arrived.</p>
+     *
+     * @param builder   the builder to append the POJOs to, non-nullable
+     * @param batchSize the number of POJOs to request at a time
+     * @throws IllegalArgumentException if {@code batchSize} is not positive
+     */
+    public BeanTableSubscriber(BeanTable.Builder<T> builder, int batchSize) {
+        if (builder == null) throw new NullPointerException("builder must not be null");
+        if (batchSize <= 0) throw new IllegalArgumentException("batchSize must be positive");
+        this.builder = builder;
+        this.batchSize = batchSize;
+        this.replenishSize = Math.max(batchSize >>> 1, 1);
+    }
+
+    /**
+     * Returns the stage completed with the table built.
+     *
+     * <p>The stage completes exceptionally if the publisher signals an error or a property value cannot be
+     * read.</p>
+     *
+     * @return the stage completed with the table built
+     */
+    public CompletionStage<BeanTable<T>> getTable() {
+        return table;
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        if (subscription == null) throw new NullPointerException("subscription must not be null");
+        if (this.subscription != null) {
+            subscription.cancel();
+            return;
+        }
+        this.subscription = subscription;
+        try {
+            appender = builder.appender();
+        } catch (RuntimeException e) {
+            subscription.cancel();
+            table.completeExceptionally(e);
+            return;
+        }
+        subscription.request(batchSize);
+    }
+
+    @Override
+    public void onNext(T bean) {
+        if (bean == null) throw new NullPointerException("bean must not be null");
+        if (table.isDone()) return;
+        try {
+            appender.add(bean);
+        } catch (DataSetException | RuntimeException e) {
+            subscription.cancel();
+            table.completeExceptionally(e);
+            return;
+        }
+        if (++received == replenishSize) {
+            received = 0;
+            subscription.request(replenishSize);
+        }
+    }
+
+    @Override
+    public void onError(Throwable cause) {
+        if (cause == null) throw new NullPointerException("cause must not be null");
+        table.completeExceptionally(cause);
+    }
+
+    @Override
+    public void onComplete() {
+        if (table.isDone()) return;
+        try {
+            table.complete(appender.build());
+        } catch (RuntimeException e) {
+            table.completeExceptionally(e);
+        }
+    }
+
+}
@@ -0,0 +1,164 @@
+/*
+ * The MIT License
+ * Copyright (c) 2018 sciencesakura
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.sciencesakura.dbunit.dataset.bean;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+final class ChannelWriter {
+
+    private static final byte[] BASE64 =
+        "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/".getBytes(StandardCharsets.US_ASCII);
+
+    private static final byte[] MIN_LONG = Long.toString(Long.MIN_VALUE).getBytes(StandardCharsets.US_ASCII);
+
+    private final ByteBuffer buffer;
+
+    private final WritableByteChannel channel;
+
+    private final GZIPOutputStream gzip;
+
+    private final byte[] digits = new byte[19];
+
+    ChannelWriter(WritableByteChannel channel, int bufferSize, boolean gzip) throws IOException {
+        buffer = ByteBuffer.allocate(bufferSize);
+        this.channel = channel;
+        this.gzip = gzip ? new GZIPOutputStream(Channels.newOutputStream(channel), bufferSize) : null;
+    }
+
+    void write(byte b) throws IOException {
+        if (!buffer.hasRemaining()) drain();
+        buffer.put(b);
+    }
+
+    void write(byte[] bytes) throws IOException {
+        int offset = 0;
+        while (offset < bytes.length) {
+            if (!buffer.hasRemaining()) drain();
+            int length = Math.min(buffer.remaining(), bytes.length - offset);
+            buffer.put(bytes, offset, length);
+            offset += length;
+        }
+    }
+
+    void write(CharSequence s) throws IOException {
+        write(s, 0, s.length());
+    }
+
+    void write(CharSequence s, int from, int to) throws IOException {
+        for (int i = from; i < to; i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                write((byte) c);
+            } else if (c < 0x800) {
+                write((byte) (0xc0 | c >> 6));
+                write((byte) (0x80 | c & 0x3f));
+            } else if (Character.isHighSurrogate(c) && i + 1 < to && Character.isLowSurrogate(s.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, s.charAt(++i));
+                write((byte) (0xf0 | cp >> 18));
+                write((byte) (0x80 | cp >> 12 & 0x3f));
+                write((byte) (0x80 | cp >> 6 & 0x3f));
+                write((byte) (0x80 | cp & 0x3f));
+            } else if (Character.isSurrogate(c)) {
+                write((byte) '?');
+            } else {
+                write((byte) (0xe0 | c >> 12));
+                write((byte) (0x80 | c >> 6 & 0x3f));
+                write((byte) (0x80 | c & 0x3f));
+            }
+        }
+    }
+
+    void write(long value) throws IOException {
+        if (value == Long.MIN_VALUE) {
+            write(MIN_LONG);
+            return;
+        }
+        if (value < 0) {
+            write((byte) '-');
+            value = -value;
+        }
+        int i = digits.length;
+        do {
+            digits[--i] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+        while (i < digits.length) {
+            write(digits[i++]);
+        }
+    }
+
+    void write(int value, int width) throws IOException {
+        int i = digits.length;
+        do {
+            digits[--i] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0 || digits.length - i < width);
+        while (i < digits.length) {
+            write(digits[i++]);
+        }
+    }
+
+    void writeBase64(byte[] bytes) throws IOException {
+        int i = 0;
+        for (; i + 2 < bytes.length; i += 3) {
+            int n = (bytes[i] & 0xff) << 16 | (bytes[i + 1] & 0xff) << 8 | bytes[i + 2] & 0xff;
+            write(BASE64[n >>> 18]);
+            write(BASE64[n >>> 12 & 0x3f]);
+            write(BASE64[n >>> 6 & 0x3f]);
+            write(BASE64[n & 0x3f]);
+        }
+        int rest = bytes.length - i;
+        if (rest == 0) return;
+        int n = (bytes[i] & 0xff) << 16 | (rest == 2 ? (bytes[i + 1] & 0xff) << 8 : 0);
+        write(BASE64[n >>> 18]);
+        write(BASE64[n >>> 12 & 0x3f]);
+        write(rest == 2 ? BASE64[n >>> 6 & 0x3f] : (byte) '=');
+        write((byte) '=');
+    }
+
+    void finish() throws IOException {
+        drain();
+        if (gzip != null) {
+            gzip.finish();
+            gzip.flush();
+        }
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        if (gzip == null) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } else {
+            gzip.write(buffer.array(), 0, buffer.limit());
+        }
+        buffer.clear();
+    }
+
+}
@@ -0,0 +1,99 @@
+/*
+ * The MIT License
+ * Copyright (c) 2018 sciencesakura
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.sciencesakura.dbunit.dataset.bean;
+
+import org.dbunit.DatabaseUnitRuntimeException;
+import org.dbunit.dataset.DataSetException;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+final class Chunks {
+
+    static final int SIZE = 4096;
+
+    private Chunks() {
+    }
+
+    static void forEach(ForkJoinPool pool, int size, Task task) throws DataSetException {
+        int count = (size + SIZE - 1) / SIZE;
+        if (count <= 1) {
+            if (size != 0) task.run(0, size);
+            return;
+        }
+        Throwable[] failures = new Throwable[count];
+        pool.invoke(new Split(task, size, 0, count, failures));
+        for (Throwable failure : failures) {
+            if (failure == null) continue;
+            if (failure instanceof DataSetException) throw (DataSetException) failure;
+            if (failure instanceof RuntimeException) throw (RuntimeException) failure;
+            if (failure instanceof Error) throw (Error) failure;
+            throw new DatabaseUnitRuntimeException(failure);
+        }
+    }
+
+    interface Task {
+
+        void run(int from, int to) throws DataSetException;
+
+    }
+
+    private static final class Split extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient Task task;
+
+        private final int size;
+
+        private final int first;
+
+        private final int last;
+
+        private final transient Throwable[] failures;
+
+        Split(Task task, int size, int first, int last, Throwable[] failures) {
+            this.task = task;
+            this.size = size;
+            this.first = first;
+            this.last = last;
+            this.failures = failures;
+        }
+
+        @Override
+        protected void compute() {
+            if (last - first > 1) {
+                int middle = (first + last) >>> 1;
+                invokeAll(new Split(task, size, first, middle, failures), new Split(task, size, middle, last, failures));
+                return;
+            }
+            try {
+                task.run(first * SIZE, Math.min(size, (first + 1) * SIZE));
+            } catch (Throwable e) {
+                failures[first] = e;
+            }
+        }
+
+    }
+
+}
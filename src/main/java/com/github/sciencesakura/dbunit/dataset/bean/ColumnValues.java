@@ -0,0 +1,370 @@
+/*
+ * The MIT License
+ * Copyright (c) 2018 sciencesakura
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.sciencesakura.dbunit.dataset.bean;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+abstract class ColumnValues {
+
+    static ColumnValues of(Class<?> type, int capacity) {
+        if (Integer.TYPE.equals(type)) {
+            return new IntValues(capacity);
+        } else if (Long.TYPE.equals(type)) {
+            return new LongValues(capacity);
+        } else if (Double.TYPE.equals(type)) {
+            return new DoubleValues(capacity);
+        } else if (Boolean.TYPE.equals(type)) {
+            return new BooleanValues(capacity);
+        } else {
+            return new ObjectValues(capacity);
+        }
+    }
+
+    static ColumnValues encode(ColumnValues values) {
+        if (values instanceof BooleanValues || values.size == 0) return values;
+        // encodes only if the codes and the dictionary take less memory than the values
+        int maxCardinality = values.size >>> 1;
+        Map<DictionaryKey, Integer> codes = new HashMap<DictionaryKey, Integer>();
+        List<Object> entries = new ArrayList<Object>();
+        int[] rowCodes = new int[values.size];
+        for (int r = 0; r < values.size; r++) {
+            Object value = values.get(r);
+            DictionaryKey key = new DictionaryKey(value);
+            Integer code = codes.get(key);
+            if (code == null) {
+                if (entries.size() == maxCardinality) return values;
+                code = entries.size();
+                codes.put(key, code);
+                entries.add(value);
+            }
+            rowCodes[r] = code;
+        }
+        Object[] dictionary = entries.toArray();
+        if (dictionary.length <= 1 << Byte.SIZE) return new ByteCodes(dictionary, rowCodes);
+        if (dictionary.length <= 1 << Short.SIZE) return new ShortCodes(dictionary, rowCodes);
+        return new IntCodes(dictionary, rowCodes);
+    }
+
+    int size;
+
+    abstract void add(Object value);
+
+    abstract void set(int row, Object value);
+
+    abstract Object get(int row);
+
+    abstract void trim();
+
+    int grow(int length) {
+        return Math.max(length + (length >> 1), 16);
+    }
+
+    Object[] dictionary() {
+        return null;
+    }
+
+    int code(int row) {
+        throw new UnsupportedOperationException("values are not dictionary-encoded");
+    }
+
+    private static final class IntValues extends ColumnValues {
+
+        private int[] values;
+
+        private IntValues(int capacity) {
+            values = new int[capacity];
+        }
+
+        @Override
+        void add(Object value) {
+            if (size == values.length) values = Arrays.copyOf(values, grow(size));
+            values[size++] = (Integer) value;
+        }
+
+        @Override
+        void set(int row, Object value) {
+            values[row] = (Integer) value;
+        }
+
+        @Override
+        Object get(int row) {
+            return values[row];
+        }
+
+        @Override
+        void trim() {
+            if (size < values.length) values = Arrays.copyOf(values, size);
+        }
+
+    }
+
+    private static final class LongValues extends ColumnValues {
+
+        private long[] values;
+
+        private LongValues(int capacity) {
+            values = new long[capacity];
+        }
+
+        @Override
+        void add(Object value) {
+            if (size == values.length) values = Arrays.copyOf(values, grow(size));
+            values[size++] = (Long) value;
+        }
+
+        @Override
+        void set(int row, Object value) {
+            values[row] = (Long) value;
+        }
+
+        @Override
+        Object get(int row) {
+            return values[row];
+        }
+
+        @Override
+        void trim() {
+            if (size < values.length) values = Arrays.copyOf(values, size);
+        }
+
+    }
+
+    private static final class DoubleValues extends ColumnValues {
+
+        private double[] values;
+
+        private DoubleValues(int capacity) {
+            values = new double[capacity];
+        }
+
+        @Override
+        void add(Object value) {
+            if (size == values.length) values = Arrays.copyOf(values, grow(size));
+            values[size++] = (Double) value;
+        }
+
+        @Override
+        void set(int row, Object value) {
+            values[row] = (Double) value;
+        }
+
+        @Override
+        Object get(int row) {
+            return values[row];
+        }
+
+        @Override
+        void trim() {
+            if (size < values.length) values = Arrays.copyOf(values, size);
+        }
+
+    }
+
+    private static final class BooleanValues extends ColumnValues {
+
+        private boolean[] values;
+
+        private BooleanValues(int capacity) {
+            values = new boolean[capacity];
+        }
+
+        @Override
+        void add(Object value) {
+            if (size == values.length) values = Arrays.copyOf(values, grow(size));
+            values[size++] = (Boolean) value;
+        }
+
+        @Override
+        void set(int row, Object value) {
+            values[row] = (Boolean) value;
+        }
+
+        @Override
+        Object get(int row) {
+            return values[row];
+        }
+
+        @Override
+        void trim() {
+            if (size < values.length) values = Arrays.copyOf(values, size);
+        }
+
+    }
+
+    private static final class ObjectValues extends ColumnValues {
+
+        private Object[] values;
+
+        private ObjectValues(int capacity) {
+            values = new Object[capacity];
+        }
+
+        @Override
+        void add(Object value) {
+            if (size == values.length) values = Arrays.copyOf(values, grow(size));
+            values[size++] = copy(value);
+        }
+
+        @Override
+        void set(int row, Object value) {
+            values[row] = copy(value);
+        }
+
+        private static Object copy(Object value) {
+            if (value instanceof byte[]) return ((byte[]) value).clone();
+            if (value instanceof Date) return ((Date) value).clone();
+            return value;
+        }
+
+        @Override
+        Object get(int row) {
+            return values[row];
+        }
+
+        @Override
+        void trim() {
+            if (size < values.length) values = Arrays.copyOf(values, size);
+        }
+
+    }
+
+    private static final class DictionaryKey {
+
+        private final Object value;
+
+        private DictionaryKey(Object value) {
+            this.value = value;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof DictionaryKey)) return false;
+            Object other = ((DictionaryKey) obj).value;
+            if (value == other) return true;
+            // a Date must not be merged with an equal Timestamp
+            return value != null && other != null && value.getClass() == other.getClass() && value.equals(other);
+        }
+
+        @Override
+        public int hashCode() {
+            return value == null ? 0 : value.hashCode();
+        }
+
+    }
+
+    private abstract static class DictionaryValues extends ColumnValues {
+
+        private final Object[] dictionary;
+
+        private DictionaryValues(Object[] dictionary, int size) {
+            this.dictionary = dictionary;
+            this.size = size;
+        }
+
+        @Override
+        void add(Object value) {
+            throw new UnsupportedOperationException("dictionary-encoded values are read-only");
+        }
+
+        @Override
+        void set(int row, Object value) {
+            throw new UnsupportedOperationException("dictionary-encoded values are read-only");
+        }
+
+        @Override
+        Object get(int row) {
+            return dictionary[code(row)];
+        }
+
+        @Override
+        void trim() {
+            // already trimmed
+        }
+
+        @Override
+        Object[] dictionary() {
+            return dictionary;
+        }
+
+    }
+
+    private static final class ByteCodes extends DictionaryValues {
+
+        private final byte[] codes;
+
+        private ByteCodes(Object[] dictionary, int[] rowCodes) {
+            super(dictionary, rowCodes.length);
+            codes = new byte[rowCodes.length];
+            for (int r = 0; r < codes.length; r++) {
+                codes[r] = (byte) rowCodes[r];
+            }
+        }
+
+        @Override
+        int code(int row) {
+            return codes[row] & 0xff;
+        }
+
+    }
+
+    private static final class ShortCodes extends DictionaryValues {
+
+        private final short[] codes;
+
+        private ShortCodes(Object[] dictionary, int[] rowCodes) {
+            super(dictionary, rowCodes.length);
+            codes = new short[rowCodes.length];
+            for (int r = 0; r < codes.length; r++) {
+                codes[r] = (short) rowCodes[r];
+            }
+        }
+
+        @Override
+        int code(int row) {
+            return codes[row] & 0xffff;
+        }
+
+    }
+
+    private static final class IntCodes extends DictionaryValues {
+
+        private final int[] codes;
+
+        private IntCodes(Object[] dictionary, int[] rowCodes) {
+            super(dictionary, rowCodes.length);
+            codes = rowCodes;
+        }
+
+        @Override
+        int code(int row) {
+            return codes[row];
+        }
+
+    }
+
+}
@@ -0,0 +1,284 @@
+/*
+ * The MIT License
+ * Copyright (c) 2018 sciencesakura
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.sciencesakura.dbunit.dataset.bean;
+
+import org.dbunit.dataset.datatype.DataType;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * A registry of the mappings from Java types to DbUnit data types, which determine the data types of the columns.
+ *
+ * <p>A property type is mapped by the mapping registered for the type itself, for its nearest superclass, or for
+ * one of its interfaces, in this order. Types without any mapping are mapped to {@link DataType#UNKNOWN}. The
+ * default mappings are:</p>
+ * <table summary="default mappings">
+ * <tr><th>Java type</th><th>Data type</th></tr>
+ * <tr><td>{@code boolean}, {@link Boolean}</td><td>{@link DataType#BOOLEAN}</td></tr>
+ * <tr><td>{@code byte}, {@link Byte}</td><td>{@link DataType#TINYINT}</td></tr>
+ * <tr><td>{@code short}, {@link Short}</td><td>{@link DataType#SMALLINT}</td></tr>
+ * <tr><td>{@code int}, {@link Integer}</td><td>{@link DataType#INTEGER}</td></tr>
+ * <tr><td>{@code long}, {@link Long}, {@link BigInteger}</td><td>{@link DataType#BIGINT}</td></tr>
+ * <tr><td>{@code float}, {@link Float}</td><td>{@link DataType#REAL}</td></tr>
+ * <tr><td>{@code double}, {@link Double}</td><td>{@link DataType#DOUBLE}</td></tr>
+ * <tr><td>{@link BigDecimal}</td><td>{@link DataType#DECIMAL}</td></tr>
+ * <tr><td>{@code char}, {@link Character}</td><td>{@link DataType#CHAR}</td></tr>
+ * <tr><td>{@link String}</td><td>{@link DataType#VARCHAR}</td></tr>
+ * <tr><td>{@link Enum}</td><td>{@link DataType#VARCHAR} (the name of the constant)</td></tr>
+ * <tr><td>{@link Date}, {@link java.sql.Date}, {@link LocalDate}</td><td>{@link DataType#DATE}</td></tr>
+ * <tr><td>{@link Time}, {@link LocalTime}, {@link OffsetTime}</td><td>{@link DataType#TIME}</td></tr>
+ * <tr><td>{@link Timestamp}, {@link LocalDateTime}, {@link OffsetDateTime}, {@link ZonedDateTime},
+ * {@link Instant}</td><td>{@link DataType#TIMESTAMP}</td></tr>
+ * <tr><td>{@code byte[]}</td><td>{@link DataType#BLOB}</td></tr>
+ * </table>
+ *
+ * <p>An {@link OffsetTime} is written as its local time without the offset, since {@link Time} has no offset, and
+ * is read back by {@link BeanMapper} at {@link java.time.ZoneOffset#UTC UTC}, so that the result does not depend
+ * on the current date or the default time zone.</p>
+ *
+ * <p>Note that DbUnit's assertion fails if both the expected and the actual columns have known but incompatible
+ * data types. Register {@link DataType#UNKNOWN} for a Java type to leave the data type of its columns to the
+ * expected table.</p>
+ */
+public final class DataTypeMappings {
+
+    private static final Mapping UNKNOWN = new Mapping(DataType.UNKNOWN, null, null);
+
+    private static final Map<Class<?>, Mapping> MAPPINGS = new ConcurrentHashMap<Class<?>, Mapping>();
+
+    static {
+        registerDefaults();
+    }
+
+    private DataTypeMappings() {
+    }
+
+    /**
+     * Registers the mapping from the specified Java type to the specified data type.
+     *
+     * @param javaType the Java type, non-nullable
+     * @param dataType the data type, non-nullable
+     */
+    public static void register(Class<?> javaType, DataType dataType) {
+        if (javaType == null) throw new NullPointerException("javaType must not be null");
+        if (dataType == null) throw new NullPointerException("dataType must not be null");
+        MAPPINGS.put(javaType, new Mapping(dataType, null, null));
+        MetaDataCache.clear();
+    }
+
+    /**
+     * Registers the mapping from the specified Java type to the specified data type, with the function that
+     * converts property values into values of the data type.
+     *
+     * <p>The converter is not applied to {@code null}.</p>
+     *
+     * @param javaType  the Java type, non-nullable
+     * @param dataType  the data type, non-nullable
+     * @param converter the function converting property values, non-nullable
+     * @param <S>       the Java type
+     */
+    public static <S> void register(Class<S> javaType, DataType dataType, Function<? super S, ?> converter) {
+        if (javaType == null) throw new NullPointerException("javaType must not be null");
+        if (dataType == null) throw new NullPointerException("dataType must not be null");
+        if (converter == null) throw new NullPointerException("converter must not be null");
+        MAPPINGS.put(javaType, new Mapping(dataType, converter, null));
+        MetaDataCache.clear();
+    }
+
+    /**
+     * Registers the mapping from the specified Java type to the specified data type, with the functions that
+     * convert property values into values of the data type and vice versa.
+     *
+     * <p>The reverse converter is used by {@link BeanMapper}, and receives values already cast by
+     * {@link DataType#typeCast(Object)} of the data type. The converters are not applied to {@code null}.</p>
+     *
+     * @param javaType         the Java type, non-nullable
+     * @param dataType         the data type, non-nullable
+     * @param converter        the function converting property values, non-nullable
+     * @param reverseConverter the function converting values of the data type into property values, non-nullable
+     * @param <S>              the Java type
+     */
+    public static <S> void register(Class<S> javaType, DataType dataType, Function<? super S, ?> converter,
+                                    Function<Object, ? extends S> reverseConverter) {
+        if (javaType == null) throw new NullPointerException("javaType must not be null");
+        if (dataType == null) throw new NullPointerException("dataType must not be null");
+        if (converter == null) throw new NullPointerException("converter must not be null");
+        if (reverseConverter == null) throw new NullPointerException("reverseConverter must not be null");
+        MAPPINGS.put(javaType, new Mapping(dataType, converter, reverseConverter));
+        MetaDataCache.clear();
+    }
+
+    /**
+     * Restores the default mappings, removing all mappings registered by the user.
+     */
+    public static void reset() {
+        MAPPINGS.clear();
+        registerDefaults();
+        MetaDataCache.clear();
+    }
+
+    /**
+     * Returns the data type the specified Java type is mapped to.
+     *
+     * @param javaType the Java type, non-nullable
+     * @return the data type
+     */
+    public static DataType resolve(Class<?> javaType) {
+        if (javaType == null) throw new NullPointerException("javaType must not be null");
+        return lookup(javaType).dataType;
+    }
+
+    static Mapping lookup(Class<?> javaType) {
+        for (Class<?> c = javaType; c != null; c = c.getSuperclass()) {
+            Mapping mapping = MAPPINGS.get(c);
+            if (mapping != null) return mapping;
+        }
+        Set<Class<?>> interfaces = new LinkedHashSet<Class<?>>();
+        for (Class<?> c = javaType; c != null; c = c.getSuperclass()) {
+            collectInterfaces(c, interfaces);
+        }
+        for (Class<?> c : interfaces) {
+            Mapping mapping = MAPPINGS.get(c);
+            if (mapping != null) return mapping;
+        }
+        return UNKNOWN;
+    }
+
+    private static void collectInterfaces(Class<?> type, Set<Class<?>> interfaces) {
+        for (Class<?> c : type.getInterfaces()) {
+            if (interfaces.add(c)) collectInterfaces(c, interfaces);
+        }
+    }
+
+    private static void registerDefaults() {
+        put(Boolean.TYPE, DataType.BOOLEAN);
+        put(Boolean.class, DataType.BOOLEAN);
+        put(Byte.TYPE, DataType.TINYINT);
+        put(Byte.class, DataType.TINYINT);
+        put(Short.TYPE, DataType.SMALLINT);
+        put(Short.class, DataType.SMALLINT);
+        put(Integer.TYPE, DataType.INTEGER);
+        put(Integer.class, DataType.INTEGER);
+        put(Long.TYPE, DataType.BIGINT);
+        put(Long.class, DataType.BIGINT);
+        put(BigInteger.class, DataType.BIGINT);
+        put(Float.TYPE, DataType.REAL);
+        put(Float.class, DataType.REAL);
+        put(Double.TYPE, DataType.DOUBLE);
+        put(Double.class, DataType.DOUBLE);
+        put(BigDecimal.class, DataType.DECIMAL);
+        put(Character.TYPE, DataType.CHAR, value -> value.toString(), DataTypeMappings::toCharacter);
+        put(Character.class, DataType.CHAR, value -> value.toString(), DataTypeMappings::toCharacter);
+        put(String.class, DataType.VARCHAR);
+        put(Enum.class, DataType.VARCHAR, value -> value.name());
+        put(Date.class, DataType.DATE);
+        put(java.sql.Date.class, DataType.DATE);
+        put(Time.class, DataType.TIME);
+        put(Timestamp.class, DataType.TIMESTAMP);
+        put(LocalDate.class, DataType.DATE, java.sql.Date::valueOf,
+            value -> ((java.sql.Date) value).toLocalDate());
+        put(LocalTime.class, DataType.TIME, Time::valueOf,
+            value -> ((Time) value).toLocalTime());
+        put(OffsetTime.class, DataType.TIME, value -> Time.valueOf(value.toLocalTime()),
+            value -> ((Time) value).toLocalTime().atOffset(ZoneOffset.UTC));
+        put(LocalDateTime.class, DataType.TIMESTAMP, Timestamp::valueOf,
+            value -> ((Timestamp) value).toLocalDateTime());
+        put(OffsetDateTime.class, DataType.TIMESTAMP, value -> Timestamp.from(value.toInstant()),
+            value -> OffsetDateTime.ofInstant(((Timestamp) value).toInstant(), ZoneId.systemDefault()));
+        put(ZonedDateTime.class, DataType.TIMESTAMP, value -> Timestamp.from(value.toInstant()),
+            value -> ZonedDateTime.ofInstant(((Timestamp) value).toInstant(), ZoneId.systemDefault()));
+        put(Instant.class, DataType.TIMESTAMP, Timestamp::from,
+            value -> ((Timestamp) value).toInstant());
+        put(byte[].class, DataType.BLOB);
+    }
+
+    private static void put(Class<?> javaType, DataType dataType) {
+        MAPPINGS.put(javaType, new Mapping(dataType, null, null));
+    }
+
+    private static <S> void put(Class<S> javaType, DataType dataType, Function<? super S, ?> converter) {
+        MAPPINGS.put(javaType, new Mapping(dataType, converter, null));
+    }
+
+    private static <S> void put(Class<S> javaType, DataType dataType, Function<? super S, ?> converter,
+                                Function<Object, ? extends S> reverseConverter) {
+        MAPPINGS.put(javaType, new Mapping(dataType, converter, reverseConverter));
+    }
+
+    private static Character toCharacter(Object value) {
+        String s = value.toString();
+        return s.isEmpty() ? null : s.charAt(0);
+    }
+
+    static final class Mapping {
+
+        final DataType dataType;
+
+        private final Function<Object, ?> converter;
+
+        private final Function<Object, ?> reverseConverter;
+
+        @SuppressWarnings("unchecked")
+        private Mapping(DataType dataType, Function<?, ?> converter, Function<Object, ?> reverseConverter) {
+            this.dataType = dataType;
+            this.converter = (Function<Object, ?>) converter;
+            this.reverseConverter = reverseConverter;
+        }
+
+        boolean converts() {
+            return converter != null;
+        }
+
+        Object convert(Object value) {
+            return value == null ? null : converter.apply(value);
+        }
+
+        boolean reverses() {
+            return reverseConverter != null;
+        }
+
+        Object reverse(Object value) {
+            return value == null ? null : reverseConverter.apply(value);
+        }
+
+    }
+
+}
@@ -0,0 +1,49 @@
+/*
+ * The MIT License
+ * Copyright (c) 2018 sciencesakura
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.sciencesakura.dbunit.dataset.bean;
+
+/**
+ * Defines the formats {@link TableExporter} writes.
+ */
+public enum ExportFormat {
+
+    /**
+     * The CSV format read by {@link org.dbunit.dataset.csv.CsvDataSet CsvDataSet}.
+     *
+     * <p>A table is written as a header line of the column names followed by a line per row. The values are quoted,
+     * {@code "} and {@code \} in them are escaped by {@code \}, and {@code null} is written as the unquoted
+     * {@code null}, as {@link org.dbunit.dataset.csv.CsvDataSetWriter CsvDataSetWriter} does. A data set is written
+     * as a directory of a file per table and {@code table-ordering.txt}.</p>
+     */
+    CSV,
+
+    /**
+     * The flat XML format read by {@link org.dbunit.dataset.xml.FlatXmlDataSet FlatXmlDataSet}.
+     *
+     * <p>A row is written as an element named by the table having an attribute per non-null value, as
+     * {@link org.dbunit.dataset.xml.FlatXmlWriter FlatXmlWriter} does, and a table having no row is written as an
+     * empty element. A table or a data set is written as a single {@code dataset} document.</p>
+     */
+    FLAT_XML
+
+}
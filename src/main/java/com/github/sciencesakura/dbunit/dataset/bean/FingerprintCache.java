@@ -0,0 +1,225 @@
+/*
+ * The MIT License
+ * Copyright (c) 2018 sciencesakura
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.sciencesakura.dbunit.dataset.bean;
+
+import org.dbunit.Assertion;
+import org.dbunit.DatabaseUnitException;
+import org.dbunit.DatabaseUnitRuntimeException;
+import org.dbunit.dataset.Column;
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.ITable;
+import org.dbunit.dataset.ITableMetaData;
+import org.dbunit.dataset.SortedTable;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Properties;
+
+/**
+ * Skips the cell-by-cell comparison of tables whose fingerprints match the cached fingerprint of the expected table.
+ *
+ * <p>The fingerprint of an expected table is computed by {@link TableFingerprint#of(ITable,
+ * org.dbunit.dataset.ITableMetaData, boolean)} with the data types of the actual table, and is cached by a key
+ * and a version of the expected data, such as the path and the last modified time of the fixture file. A cached
+ * fingerprint is computed again when the column names or the data types of the actual table change. The cache is
+ * kept in a properties file, so that the fingerprints of unchanged fixtures are not computed again across runs.
+ * The fingerprint of the actual table is computed every time.</p>
+ *
+ * <p>If the fingerprints match, the tables are regarded as equal. Otherwise the tables are compared by
+ * {@link Assertion#assertEquals(ITable, ITable)}, after being sorted by all the columns if the fingerprints are
+ * order-independent, so that a mismatch is reported as usual.</p>
+ *
+ * @see FingerprintCache.Builder
+ */
+public class FingerprintCache {
+
+    private final Path file;
+
+    private final boolean orderIndependent;
+
+    private final Properties entries;
+
+    private FingerprintCache(Builder builder) {
+        file = builder.file;
+        orderIndependent = builder.orderIndependent;
+        entries = load(file);
+    }
+
+    private static Properties load(Path file) {
+        Properties properties = new Properties();
+        if (!Files.exists(file)) return properties;
+        try (InputStream in = Files.newInputStream(file)) {
+            properties.load(in);
+        } catch (IOException e) {
+            throw new DatabaseUnitRuntimeException(String.format("failed to load %1s", file), e);
+        }
+        return properties;
+    }
+
+    /**
+     * Asserts that the specified tables are equal, keying the expected table by the path and the last modified
+     * time of the specified fixture file.
+     *
+     * @param fixture  the file the expected table is read from, non-nullable
+     * @param expected the expected table, non-nullable
+     * @param actual   the actual table, non-nullable
+     * @throws DatabaseUnitException if the tables are not equal or failed to read them
+     */
+    public void assertEquals(File fixture, ITable expected, ITable actual) throws DatabaseUnitException {
+        if (fixture == null) throw new NullPointerException("fixture must not be null");
+        if (expected == null) throw new NullPointerException("expected must not be null");
+        String key = fixture.getAbsolutePath() + '#' + expected.getTableMetaData().getTableName();
+        assertEquals(key, fixture.lastModified() * 31L + fixture.length(), expected, actual);
+    }
+
+    /**
+     * Asserts that the specified tables are equal.
+     *
+     * @param key      the key identifying the expected table, non-nullable
+     * @param version  the version of the expected table, which must change whenever its data changes
+     * @param expected the expected table, non-nullable
+     * @param actual   the actual table, non-nullable
+     * @throws DatabaseUnitException if the tables are not equal or failed to read them
+     */
+    public void assertEquals(String key, long version, ITable expected, ITable actual) throws DatabaseUnitException {
+        if (key == null) throw new NullPointerException("key must not be null");
+        if (expected == null) throw new NullPointerException("expected must not be null");
+        if (actual == null) throw new NullPointerException("actual must not be null");
+        TableFingerprint actualFingerprint = TableFingerprint.of(actual, orderIndependent);
+        String header = header(version, actual.getTableMetaData());
+        String cached = get(key);
+        String expectedEntry = cached != null && cached.startsWith(header) ? cached : null;
+        if (expectedEntry == null) {
+            TableFingerprint expectedFingerprint = TableFingerprint.of(expected, actual.getTableMetaData(),
+                orderIndependent);
+            expectedEntry = entry(header, expectedFingerprint);
+            put(key, expectedEntry);
+        }
+        if (expectedEntry.equals(entry(header, actualFingerprint))) return;
+        if (orderIndependent) {
+            SortedTable sortedExpected = new SortedTable(expected, actual.getTableMetaData().getColumns());
+            SortedTable sortedActual = new SortedTable(actual, actual.getTableMetaData().getColumns());
+            sortedExpected.setUseComparable(true);
+            sortedActual.setUseComparable(true);
+            Assertion.assertEquals(sortedExpected, sortedActual);
+        } else {
+            Assertion.assertEquals(expected, actual);
+        }
+    }
+
+    private String header(long version, ITableMetaData types) throws DataSetException {
+        return version + (orderIndependent ? ",u," : ",o,") + String.format("%016x", schemaHash(types)) + ",";
+    }
+
+    private static long schemaHash(ITableMetaData types) throws DataSetException {
+        Column[] columns = types.getColumns().clone();
+        Arrays.sort(columns, (a, b) -> a.getColumnName().compareToIgnoreCase(b.getColumnName()));
+        long h = 0xcbf29ce484222325L;
+        for (Column column : columns) {
+            String text = column.getColumnName().toUpperCase(Locale.ENGLISH) + ':' + column.getDataType() + ':'
+                + column.getDataType().getSqlType() + ';';
+            for (int i = 0; i < text.length(); i++) {
+                h = (h ^ text.charAt(i)) * 0x100000001b3L;
+            }
+        }
+        return h;
+    }
+
+    private static String entry(String header, TableFingerprint fingerprint) {
+        return header + fingerprint.getRowCount() + "," + fingerprint;
+    }
+
+    private synchronized String get(String key) {
+        return entries.getProperty(key);
+    }
+
+    private synchronized void put(String key, String entry) {
+        // merges the entries written by other processes since loaded
+        Properties merged = load(file);
+        merged.putAll(entries);
+        merged.setProperty(key, entry);
+        entries.clear();
+        entries.putAll(merged);
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) Files.createDirectories(parent);
+            Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                merged.store(out, null);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new DatabaseUnitRuntimeException(String.format("failed to store %1s", file), e);
+        }
+    }
+
+    /**
+     * A builder to create a {@link FingerprintCache} instances providing chainable methods.
+     */
+    public static class Builder {
+
+        private final Path file;
+
+        private boolean orderIndependent;
+
+        /**
+         * Constructs a builder.
+         *
+         * @param file the file to keep the cache in, non-nullable; created if not exists
+         */
+        public Builder(Path file) {
+            if (file == null) throw new NullPointerException("file must not be null");
+            this.file = file;
+        }
+
+        /**
+         * Constructs a {@link FingerprintCache} instance, loading the cache file if exists.
+         *
+         * @return a new {@link FingerprintCache} instance
+         */
+        public FingerprintCache build() {
+            return new FingerprintCache(this);
+        }
+
+        /**
+         * Specifies to compare the tables regardless of the row order.
+         *
+         * <p>Default: the row order is compared</p>
+         *
+         * @return the reference to this object
+         */
+        public Builder orderIndependent() {
+            this.orderIndependent = true;
+            return this;
+        }
+
+    }
+
+}
@@ -0,0 +1,222 @@
+/*
+ * The MIT License
+ * Copyright (c) 2018 sciencesakura
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.sciencesakura.dbunit.dataset.bean;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@link BeanTableMetrics} that accumulates the metrics in memory.
+ *
+ * <p>The counters are {@link LongAdder}s, so that concurrent reads from multiple threads do not contend on a single
+ * counter. The counts of a table or a column that has never been recorded are zero.</p>
+ */
+public class InMemoryBeanTableMetrics implements BeanTableMetrics {
+
+    private final LongAdder introspectionCount = new LongAdder();
+
+    private final LongAdder introspectionNanos = new LongAdder();
+
+    private final ConcurrentMap<String, TableStats> tables = new ConcurrentHashMap<String, TableStats>();
+
+    @Override
+    public void introspected(Class<?> type, long nanos) {
+        introspectionCount.increment();
+        introspectionNanos.add(nanos);
+    }
+
+    @Override
+    public void built(String tableName, int columnCount, int rowCount, long nanos) {
+        TableStats table = table(tableName);
+        table.columnCount = columnCount;
+        table.buildCount.increment();
+        table.buildNanos.add(nanos);
+        table.rowCount.add(rowCount);
+    }
+
+    @Override
+    public void read(String tableName, String columnName, long nanos) {
+        ColumnStats column = table(tableName).column(columnName);
+        column.readCount.increment();
+        column.readNanos.add(nanos);
+    }
+
+    @Override
+    public void failed(String tableName, String columnName, Throwable cause) {
+        table(tableName).column(columnName).failureCount.increment();
+    }
+
+    /**
+     * Returns the number of the introspections.
+     *
+     * @return the number of the introspections
+     */
+    public long getIntrospectionCount() {
+        return introspectionCount.sum();
+    }
+
+    /**
+     * Returns the total time of the introspections in nanoseconds.
+     *
+     * @return the total time of the introspections
+     */
+    public long getIntrospectionNanos() {
+        return introspectionNanos.sum();
+    }
+
+    /**
+     * Returns the number of times the specified table has been built.
+     *
+     * @param tableName the table name
+     * @return the number of the builds
+     */
+    public long getBuildCount(String tableName) {
+        TableStats table = tables.get(tableName);
+        return table == null ? 0L : table.buildCount.sum();
+    }
+
+    /**
+     * Returns the total time of building the specified table in nanoseconds.
+     *
+     * @param tableName the table name
+     * @return the total time of the builds
+     */
+    public long getBuildNanos(String tableName) {
+        TableStats table = tables.get(tableName);
+        return table == null ? 0L : table.buildNanos.sum();
+    }
+
+    /**
+     * Returns the number of the columns of the specified table last built.
+     *
+     * @param tableName the table name
+     * @return the number of the columns
+     */
+    public int getColumnCount(String tableName) {
+        TableStats table = tables.get(tableName);
+        return table == null ? 0 : table.columnCount;
+    }
+
+    /**
+     * Returns the total number of the rows of the specified table over all the builds.
+     *
+     * @param tableName the table name
+     * @return the total number of the rows
+     */
+    public long getRowCount(String tableName) {
+        TableStats table = tables.get(tableName);
+        return table == null ? 0L : table.rowCount.sum();
+    }
+
+    /**
+     * Returns the number of the values read from the specified column.
+     *
+     * @param tableName  the table name
+     * @param columnName the column name
+     * @return the number of the reads
+     */
+    public long getReadCount(String tableName, String columnName) {
+        ColumnStats column = findColumn(tableName, columnName);
+        return column == null ? 0L : column.readCount.sum();
+    }
+
+    /**
+     * Returns the total time of the getter calls of the specified column in nanoseconds.
+     *
+     * @param tableName  the table name
+     * @param columnName the column name
+     * @return the total time of the reads
+     */
+    public long getReadNanos(String tableName, String columnName) {
+        ColumnStats column = findColumn(tableName, columnName);
+        return column == null ? 0L : column.readNanos.sum();
+    }
+
+    /**
+     * Returns the number of the failed reads of the specified column.
+     *
+     * @param tableName  the table name
+     * @param columnName the column name
+     * @return the number of the failures
+     */
+    public long getFailureCount(String tableName, String columnName) {
+        ColumnStats column = findColumn(tableName, columnName);
+        return column == null ? 0L : column.failureCount.sum();
+    }
+
+    /**
+     * Discards all the recorded metrics.
+     */
+    public void reset() {
+        introspectionCount.reset();
+        introspectionNanos.reset();
+        tables.clear();
+    }
+
+    private TableStats table(String tableName) {
+        TableStats table = tables.get(tableName);
+        if (table != null) return table;
+        TableStats created = new TableStats();
+        table = tables.putIfAbsent(tableName, created);
+        return table == null ? created : table;
+    }
+
+    private ColumnStats findColumn(String tableName, String columnName) {
+        TableStats table = tables.get(tableName);
+        return table == null ? null : table.columns.get(columnName);
+    }
+
+    private static final class TableStats {
+
+        final LongAdder buildCount = new LongAdder();
+
+        final LongAdder buildNanos = new LongAdder();
+
+        final LongAdder rowCount = new LongAdder();
+
+        final ConcurrentMap<String, ColumnStats> columns = new ConcurrentHashMap<String, ColumnStats>();
+
+        volatile int columnCount;
+
+        ColumnStats column(String columnName) {
+            ColumnStats column = columns.get(columnName);
+            if (column != null) return column;
+            ColumnStats created = new ColumnStats();
+            column = columns.putIfAbsent(columnName, created);
+            return column == null ? created : column;
+        }
+
+    }
+
+    private static final class ColumnStats {
+
+        final LongAdder readCount = new LongAdder();
+
+        final LongAdder readNanos = new LongAdder();
+
+        final LongAdder failureCount = new LongAdder();
+
+    }
+
+}
@@ -0,0 +1,258 @@
+/*
+ * The MIT License
+ * Copyright (c) 2018 sciencesakura
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.sciencesakura.dbunit.dataset.bean;
+
+import org.dbunit.DatabaseUnitRuntimeException;
+
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Defines the strategies for finding the properties of POJOs.
+ */
+public enum Introspection {
+
+    /**
+     * Finding the properties having read methods via {@link Introspector}.
+     *
+     * <p>The properties are ordered by their names.</p>
+     */
+    JAVA_BEANS,
+
+    /**
+     * Finding the properties having read methods by scanning the public methods of the POJO class.
+     *
+     * <p>The properties found are the same as the ones {@link #JAVA_BEANS} finds unless the POJO class has a
+     * {@link java.beans.BeanInfo BeanInfo}, but this neither uses {@link Introspector} nor takes any lock. The read
+     * methods declared by interfaces are ignored. The properties are ordered by their names.</p>
+     */
+    GETTERS,
+
+    /**
+     * Finding the non-static fields declared in the POJO class and its superclasses below the base class.
+     *
+     * <p>The fields are read directly, so that getters are not called even if they exist. The fields are ordered
+     * from the superclasses to the subclass, and in declaration order within a class; a field hides the field of
+     * the same name declared in a superclass.</p>
+     */
+    FIELDS,
+
+    /**
+     * Finding the components of a record class.
+     *
+     * <p>The components are read via their accessor methods, and are ordered in declaration order. The base class
+     * is ignored. This requires Java 16 or later at runtime.</p>
+     */
+    RECORD_COMPONENTS;
+
+    List<Property> properties(Class<?> type, Class<?> base) {
+        switch (this) {
+            case JAVA_BEANS:
+                return javaBeans(type, base);
+            case GETTERS:
+                return getters(type, base);
+            case FIELDS:
+                return fields(type, base);
+            case RECORD_COMPONENTS:
+                return recordComponents(type);
+            default:
+                throw new UnsupportedOperationException(String.format("%1s is not supported", this));
+        }
+    }
+
+    List<Property> writableProperties(Class<?> type, Class<?> base) {
+        switch (this) {
+            case JAVA_BEANS:
+                return javaBeansWritable(type, base);
+            case GETTERS:
+                return setters(type, base);
+            case FIELDS:
+                return fields(type, base);
+            case RECORD_COMPONENTS:
+                return recordComponents(type);
+            default:
+                throw new UnsupportedOperationException(String.format("%1s is not supported", this));
+        }
+    }
+
+    boolean supports(Class<?> type) {
+        return this != RECORD_COMPONENTS || isRecord(type);
+    }
+
+    private static List<Property> javaBeans(Class<?> type, Class<?> base) {
+        PropertyDescriptor[] descriptors;
+        try {
+            descriptors = Introspector.getBeanInfo(type, base).getPropertyDescriptors();
+        } catch (IntrospectionException e) {
+            throw new DatabaseUnitRuntimeException(e);
+        }
+        List<Property> properties = new ArrayList<Property>(descriptors.length);
+        for (PropertyDescriptor descriptor : descriptors) {
+            if (descriptor.getReadMethod() == null) continue;
+            properties.add(new Property(descriptor.getName(), descriptor.getPropertyType(),
+                descriptor.getReadMethod()));
+        }
+        return properties;
+    }
+
+    private static List<Property> javaBeansWritable(Class<?> type, Class<?> base) {
+        PropertyDescriptor[] descriptors;
+        try {
+            descriptors = Introspector.getBeanInfo(type, base).getPropertyDescriptors();
+        } catch (IntrospectionException e) {
+            throw new DatabaseUnitRuntimeException(e);
+        }
+        List<Property> properties = new ArrayList<Property>(descriptors.length);
+        for (PropertyDescriptor descriptor : descriptors) {
+            if (descriptor.getWriteMethod() == null) continue;
+            properties.add(new Property(descriptor.getName(), descriptor.getPropertyType(),
+                descriptor.getWriteMethod()));
+        }
+        return properties;
+    }
+
+    private static List<Property> getters(Class<?> type, Class<?> base) {
+        Map<String, Property> properties = new TreeMap<String, Property>();
+        Set<String> isGetters = new HashSet<String>();
+        for (Method method : type.getMethods()) {
+            if (Modifier.isStatic(method.getModifiers()) || method.isBridge() || method.isSynthetic()) continue;
+            if (method.getParameterTypes().length != 0 || method.getTypeParameters().length != 0) continue;
+            Class<?> declaringClass = method.getDeclaringClass();
+            if (declaringClass.isInterface() || declaringClass.isAssignableFrom(base)) continue;
+            String methodName = method.getName();
+            Class<?> returnType = method.getReturnType();
+            String name;
+            if (methodName.startsWith("get") && 3 < methodName.length()) {
+                if (returnType == Void.TYPE) continue;
+                name = decapitalize(methodName.substring(3));
+                if (isGetters.contains(name)) continue;
+            } else if (methodName.startsWith("is") && 2 < methodName.length()) {
+                if (returnType != Boolean.TYPE) continue;
+                name = decapitalize(methodName.substring(2));
+                isGetters.add(name);
+            } else {
+                continue;
+            }
+            properties.put(name, new Property(name, returnType, method));
+        }
+        return new ArrayList<Property>(properties.values());
+    }
+
+    private static List<Property> setters(Class<?> type, Class<?> base) {
+        Map<String, Class<?>> readTypes = new HashMap<String, Class<?>>();
+        for (Property property : getters(type, base)) {
+            readTypes.put(property.getName(), property.getType());
+        }
+        Map<String, Property> properties = new TreeMap<String, Property>();
+        for (Method method : type.getMethods()) {
+            if (Modifier.isStatic(method.getModifiers()) || method.isBridge() || method.isSynthetic()) continue;
+            if (method.getParameterTypes().length != 1 || method.getTypeParameters().length != 0) continue;
+            Class<?> declaringClass = method.getDeclaringClass();
+            if (declaringClass.isInterface() || declaringClass.isAssignableFrom(base)) continue;
+            String methodName = method.getName();
+            if (!methodName.startsWith("set") || methodName.length() <= 3) continue;
+            String name = decapitalize(methodName.substring(3));
+            Class<?> parameterType = method.getParameterTypes()[0];
+            Class<?> readType = readTypes.get(name);
+            // prefers the overload taking the type of the read method
+            if (properties.containsKey(name) && parameterType != readType) continue;
+            properties.put(name, new Property(name, parameterType, method));
+        }
+        return new ArrayList<Property>(properties.values());
+    }
+
+    private static String decapitalize(String name) {
+        if (1 < name.length() && Character.isUpperCase(name.charAt(1)) && Character.isUpperCase(name.charAt(0))) {
+            return name;
+        }
+        return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+    }
+
+    private static List<Property> fields(Class<?> type, Class<?> base) {
+        List<Class<?>> hierarchy = new ArrayList<Class<?>>();
+        for (Class<?> c = type; c != null && c != base; c = c.getSuperclass()) {
+            hierarchy.add(0, c);
+        }
+        Map<String, Property> properties = new LinkedHashMap<String, Property>();
+        for (Class<?> c : hierarchy) {
+            for (Field field : c.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()) || field.isSynthetic()) continue;
+                properties.put(field.getName(), new Property(field));
+            }
+        }
+        return new ArrayList<Property>(properties.values());
+    }
+
+    private static boolean isRecord(Class<?> type) {
+        try {
+            return (Boolean) Class.class.getMethod("isRecord").invoke(type);
+        } catch (NoSuchMethodException e) {
+            return false;
+        } catch (IllegalAccessException e) {
+            throw new DatabaseUnitRuntimeException(e);
+        } catch (InvocationTargetException e) {
+            throw new DatabaseUnitRuntimeException(e.getCause());
+        }
+    }
+
+    private static List<Property> recordComponents(Class<?> type) {
+        try {
+            if (!(Boolean) Class.class.getMethod("isRecord").invoke(type)) {
+                throw new DatabaseUnitRuntimeException(String.format("%1s is not a record", type.getName()));
+            }
+            Object components = Class.class.getMethod("getRecordComponents").invoke(type);
+            int length = Array.getLength(components);
+            List<Property> properties = new ArrayList<Property>(length);
+            for (int i = 0; i < length; i++) {
+                Object component = Array.get(components, i);
+                Class<?> componentClass = component.getClass();
+                properties.add(new Property(
+                    (String) componentClass.getMethod("getName").invoke(component),
+                    (Class<?>) componentClass.getMethod("getType").invoke(component),
+                    (Method) componentClass.getMethod("getAccessor").invoke(component)));
+            }
+            return properties;
+        } catch (NoSuchMethodException e) {
+            throw new DatabaseUnitRuntimeException("records are not supported by this Java runtime", e);
+        } catch (IllegalAccessException e) {
+            throw new DatabaseUnitRuntimeException(e);
+        } catch (InvocationTargetException e) {
+            throw new DatabaseUnitRuntimeException(e.getCause());
+        }
+    }
+
+}
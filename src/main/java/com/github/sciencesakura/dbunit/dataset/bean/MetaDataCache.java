@@ -0,0 +1,316 @@
+/*
+ * The MIT License
+ * Copyright (c) 2018 sciencesakura
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.sciencesakura.dbunit.dataset.bean;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A process-wide cache of the column metadata resolved by {@link BeanTable.Builder#build()} and of the write
+ * accessors resolved by {@link BeanMapper.Builder#build()}.
+ *
+ * <p>Each entry is keyed by the POJO type and the builder options affecting the columns, and is attached to the
+ * POJO type so that it does not prevent the class loader from being unloaded. When the number of entries exceeds
+ * the maximum size, the least recently used entries are evicted.</p>
+ *
+ * <p>A cache hit takes no lock; it only stamps the entry with the value of a global access counter, and the stamps
+ * are compared when entries are evicted while adding an entry.</p>
+ */
+public final class MetaDataCache {
+
+    /**
+     * The default maximum number of entries.
+     */
+    public static final int DEFAULT_MAXIMUM_SIZE = 1024;
+
+    private static final ClassValue<ConcurrentMap<Key, Entry>> ENTRIES = new ClassValue<ConcurrentMap<Key, Entry>>() {
+        @Override
+        protected ConcurrentMap<Key, Entry> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<Key, Entry>();
+        }
+    };
+
+    private static final Set<Reference<Entry>> REFS = new HashSet<Reference<Entry>>();
+
+    private static final ReferenceQueue<Entry> QUEUE = new ReferenceQueue<Entry>();
+
+    private static final AtomicLong CLOCK = new AtomicLong();
+
+    private static final AtomicLong HITS = new AtomicLong();
+
+    private static final AtomicLong MISSES = new AtomicLong();
+
+    private static final AtomicLong EVICTIONS = new AtomicLong();
+
+    private static int maximumSize = DEFAULT_MAXIMUM_SIZE;
+
+    private MetaDataCache() {
+    }
+
+    /**
+     * Returns the maximum number of entries.
+     *
+     * @return the maximum number of entries
+     */
+    public static int getMaximumSize() {
+        synchronized (REFS) {
+            return maximumSize;
+        }
+    }
+
+    /**
+     * Sets the maximum number of entries, evicting the least recently used entries if needed.
+     *
+     * <p>Zero disables caching.</p>
+     *
+     * @param maximumSize the maximum number of entries, non-negative
+     */
+    public static void setMaximumSize(int maximumSize) {
+        if (maximumSize < 0) throw new IllegalArgumentException("maximumSize must not be negative");
+        synchronized (REFS) {
+            MetaDataCache.maximumSize = maximumSize;
+            evict();
+        }
+    }
+
+    /**
+     * Returns the current number of entries.
+     *
+     * @return the current number of entries
+     */
+    public static int size() {
+        synchronized (REFS) {
+            expunge();
+            return REFS.size();
+        }
+    }
+
+    /**
+     * Returns the number of times the column metadata or the write accessors were found in this cache.
+     *
+     * @return the number of cache hits
+     */
+    public static long getHitCount() {
+        return HITS.get();
+    }
+
+    /**
+     * Returns the number of times the column metadata or the write accessors were not found in this cache and had to
+     * be resolved.
+     *
+     * @return the number of cache misses
+     */
+    public static long getMissCount() {
+        return MISSES.get();
+    }
+
+    /**
+     * Returns the number of entries evicted because of the maximum size.
+     *
+     * @return the number of evictions
+     */
+    public static long getEvictionCount() {
+        return EVICTIONS.get();
+    }
+
+    /**
+     * Removes all entries.
+     */
+    public static void clear() {
+        synchronized (REFS) {
+            for (Reference<Entry> ref : REFS) {
+                Entry entry = ref.get();
+                if (entry != null) entry.owner.remove(entry.key, entry);
+            }
+            REFS.clear();
+            expunge();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    static <V> V get(Class<?> type, Key key) {
+        Entry entry = ENTRIES.get(type).get(key);
+        if (entry == null) {
+            MISSES.incrementAndGet();
+            return null;
+        }
+        HITS.incrementAndGet();
+        entry.lastAccess = CLOCK.incrementAndGet();
+        return (V) entry.value;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <V> V put(Class<?> type, Key key, V value) {
+        ConcurrentMap<Key, Entry> entries = ENTRIES.get(type);
+        synchronized (REFS) {
+            if (maximumSize == 0) return value;
+            Entry entry = new Entry(entries, key, value);
+            Entry existing = entries.putIfAbsent(key, entry);
+            if (existing != null) return (V) existing.value;
+            REFS.add(entry.ref);
+            evict();
+        }
+        return value;
+    }
+
+    private static void evict() {
+        expunge();
+        if (REFS.size() <= maximumSize) return;
+        List<Entry> entries = new ArrayList<Entry>(REFS.size());
+        for (Reference<Entry> ref : REFS) {
+            Entry entry = ref.get();
+            if (entry != null) entries.add(entry);
+        }
+        Collections.sort(entries, new Comparator<Entry>() {
+            @Override
+            public int compare(Entry e1, Entry e2) {
+                return Long.compare(e1.lastAccess, e2.lastAccess);
+            }
+        });
+        for (int i = 0; maximumSize < REFS.size() && i < entries.size(); i++) {
+            Entry entry = entries.get(i);
+            REFS.remove(entry.ref);
+            entry.owner.remove(entry.key, entry);
+            EVICTIONS.incrementAndGet();
+        }
+    }
+
+    private static void expunge() {
+        Reference<? extends Entry> ref;
+        while ((ref = QUEUE.poll()) != null) {
+            REFS.remove(ref);
+        }
+    }
+
+    static final class Key {
+
+        private final Class<?> base;
+
+        private final NamingStrategy naming;
+
+        private final Accessor accessor;
+
+        private final Introspection introspection;
+
+        private final Set<String> excludedNames;
+
+        private final Set<Class<?>> excludedTypes;
+
+        private final List<String> paths;
+
+        private final int flattenDepth;
+
+        private final boolean writable;
+
+        private final int hash;
+
+        Key(Class<?> base, NamingStrategy naming, Accessor accessor, Introspection introspection, Set<String> excludedNames,
+            Set<Class<?>> excludedTypes, List<String> paths, int flattenDepth) {
+            this(base, naming, accessor, introspection, excludedNames, excludedTypes, paths, flattenDepth, false);
+        }
+
+        Key(Class<?> base, NamingStrategy naming, Accessor accessor, Introspection introspection) {
+            this(base, naming, accessor, introspection, Collections.<String>emptySet(),
+                Collections.<Class<?>>emptySet(), Collections.<String>emptyList(), 0, true);
+        }
+
+        private Key(Class<?> base, NamingStrategy naming, Accessor accessor, Introspection introspection,
+            Set<String> excludedNames, Set<Class<?>> excludedTypes, List<String> paths, int flattenDepth,
+            boolean writable) {
+            this.base = base;
+            this.naming = naming;
+            this.accessor = accessor;
+            this.introspection = introspection;
+            this.excludedNames = Collections.unmodifiableSet(new HashSet<String>(excludedNames));
+            this.excludedTypes = Collections.unmodifiableSet(new HashSet<Class<?>>(excludedTypes));
+            this.paths = Collections.unmodifiableList(new ArrayList<String>(paths));
+            this.flattenDepth = flattenDepth;
+            this.writable = writable;
+            int h = base.hashCode();
+            h = 31 * h + naming.hashCode();
+            h = 31 * h + (accessor == null ? 0 : accessor.hashCode());
+            h = 31 * h + introspection.hashCode();
+            h = 31 * h + this.excludedNames.hashCode();
+            h = 31 * h + this.excludedTypes.hashCode();
+            h = 31 * h + this.paths.hashCode();
+            h = 31 * h + flattenDepth;
+            h = 31 * h + (writable ? 1 : 0);
+            hash = h;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (!(obj instanceof Key)) return false;
+            Key other = (Key) obj;
+            return hash == other.hash
+                && base == other.base
+                && naming.equals(other.naming)
+                && accessor == other.accessor
+                && introspection == other.introspection
+                && excludedNames.equals(other.excludedNames)
+                && excludedTypes.equals(other.excludedTypes)
+                && paths.equals(other.paths)
+                && flattenDepth == other.flattenDepth
+                && writable == other.writable;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+    }
+
+    private static final class Entry {
+
+        private final ConcurrentMap<Key, Entry> owner;
+
+        private final Key key;
+
+        private final Object value;
+
+        private final Reference<Entry> ref;
+
+        private volatile long lastAccess = CLOCK.incrementAndGet();
+
+        private Entry(ConcurrentMap<Key, Entry> owner, Key key, Object value) {
+            this.owner = owner;
+            this.key = key;
+            this.value = value;
+            this.ref = new WeakReference<Entry>(this, QUEUE);
+        }
+
+    }
+
+}
@@ -0,0 +1,73 @@
+/*
+ * The MIT License
+ * Copyright (c) 2018 sciencesakura
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.sciencesakura.dbunit.dataset.bean;
+
+import org.dbunit.dataset.Column;
+import org.dbunit.dataset.DataSetException;
+
+final class MeteredBeanColumn extends BeanColumn {
+
+    private final BeanColumn column;
+
+    private final String tableName;
+
+    private final BeanTableMetrics metrics;
+
+    private MeteredBeanColumn(BeanColumn column, String tableName, BeanTableMetrics metrics) {
+        super(column);
+        this.column = column;
+        this.tableName = tableName;
+        this.metrics = metrics;
+    }
+
+    static BeanColumns meter(BeanColumns columns, String tableName, BeanTableMetrics metrics) {
+        BeanColumn[] metered = new BeanColumn[columns.size()];
+        for (int i = 0; i < metered.length; i++) {
+            metered[i] = new MeteredBeanColumn(columns.get(i), tableName, metrics);
+        }
+        return new BeanColumns(metered);
+    }
+
+    @Override
+    Object getValue(Object bean) throws DataSetException {
+        long start = System.nanoTime();
+        Object value;
+        try {
+            value = column.getValue(bean);
+        } catch (DataSetException e) {
+            metrics.failed(tableName, getName(), e);
+            throw e;
+        } catch (RuntimeException e) {
+            metrics.failed(tableName, getName(), e);
+            throw e;
+        }
+        metrics.read(tableName, getName(), System.nanoTime() - start);
+        return value;
+    }
+
+    @Override
+    Column toDbUnitColumn() {
+        return column.toDbUnitColumn();
+    }
+
+}
@@ -22,10 +22,15 @@
  */
 package com.github.sciencesakura.dbunit.dataset.bean;
 
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
 /**
- * Defines the conventions for resolving column names from property names.
+ * Defines the built-in conventions for resolving column names from property names.
+ *
+ * <p>The resolved names are memoized, so that each property name is converted only once.</p>
  */
-public enum Naming {
+public enum Naming implements NamingStrategy {
 
     /**
      * No change.
@@ -37,52 +42,47 @@ public enum Naming {
     /**
      * Converting camel-case to snake-case.
      *
-     * <p>Example: {@code catLeg} &#x2192; {@code cat_leg}</p>
+     * <p>A run of upper-case letters is treated as a word. Example: {@code catLeg} &#x2192; {@code cat_leg},
+     * {@code URLValue} &#x2192; {@code url_value}</p>
      */
     CAMEL_TO_SNAKE,
 
     /**
      * Converting camel-case to screaming-snake-case.
      *
-     * <p>Example: {@code catLeg} &#x2192; {@code CAT_LEG}</p>
+     * <p>A run of upper-case letters is treated as a word. Example: {@code catLeg} &#x2192; {@code CAT_LEG},
+     * {@code URLValue} &#x2192; {@code URL_VALUE}</p>
      */
     CAMEL_TO_SCREAMING_SNAKE;
 
-    String resolve(String name) {
-        switch (this) {
-            case RAW:
-                return name;
-            case CAMEL_TO_SNAKE:
-                return camelToSnake(name);
-            case CAMEL_TO_SCREAMING_SNAKE:
-                return camelToScreamingSnake(name);
-            default:
-                throw new UnsupportedOperationException(String.format("%1s is not supported", this));
-        }
+    private final ConcurrentMap<String, String> resolved = new ConcurrentHashMap<String, String>();
+
+    @Override
+    public String resolve(String name) {
+        if (this == RAW) return name;
+        String result = resolved.get(name);
+        if (result != null) return result;
+        result = toSnake(name, this == CAMEL_TO_SCREAMING_SNAKE);
+        String existing = resolved.putIfAbsent(name, result);
+        return existing == null ? result : existing;
     }
 
-    private String camelToSnake(String s) {
-        StringBuilder sb = new StringBuilder(s.length() << 1);
-        for (char c : s.toCharArray()) {
-            if (Character.isUpperCase(c)) {
-                sb.append('_').append(Character.toLowerCase(c));
-            } else {
-                sb.append(c);
-            }
+    private static String toSnake(String s, boolean upperCase) {
+        int length = s.length();
+        StringBuilder sb = new StringBuilder(length + 4);
+        for (int i = 0; i < length; i++) {
+            char c = s.charAt(i);
+            if (Character.isUpperCase(c) && 0 < i && isWordStart(s, i)) sb.append('_');
+            sb.append(upperCase ? Character.toUpperCase(c) : Character.toLowerCase(c));
         }
         return sb.toString();
     }
 
-    private String camelToScreamingSnake(String s) {
-        StringBuilder sb = new StringBuilder(s.length() << 1);
-        for (char c : s.toCharArray()) {
-            if (Character.isUpperCase(c)) {
-                sb.append('_').append(c);
-            } else {
-                sb.append(Character.toUpperCase(c));
-            }
-        }
-        return sb.toString();
+    private static boolean isWordStart(String s, int i) {
+        char previous = s.charAt(i - 1);
+        if (previous == '_') return false;
+        if (!Character.isUpperCase(previous)) return true;
+        return i + 1 < s.length() && Character.isLowerCase(s.charAt(i + 1));
     }
 
 }
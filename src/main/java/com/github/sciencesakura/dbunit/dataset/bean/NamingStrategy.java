@@ -0,0 +1,77 @@
+/*
+ * The MIT License
+ * Copyright (c) 2018 sciencesakura
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.sciencesakura.dbunit.dataset.bean;
+
+/**
+ * A strategy for resolving column names from property names.
+ *
+ * <p>The built-in strategies are defined in {@link Naming}. Since the columns of a POJO class are cached by
+ * {@link MetaDataCache} per strategy, a custom strategy should implement {@link Object#equals(Object)} and
+ * {@link Object#hashCode()} if its instances are created for each table.</p>
+ */
+public interface NamingStrategy {
+
+    /**
+     * Resolves the column name of the specified property.
+     *
+     * @param propertyName the property name
+     * @return the column name
+     */
+    String resolve(String propertyName);
+
+    /**
+     * Resolves the column name of the nested property reached via the specified properties.
+     *
+     * <p>By default, this joins the names resolved for each property with underscores.</p>
+     *
+     * <p>Example: {@code Naming.CAMEL_TO_SNAKE.resolvePath("homeAddress", "zipCode")} resolves to
+     * {@code home_address_zip_code}</p>
+     *
+     * @param propertyNames the names of the properties from the outermost one, non-empty
+     * @return the column name
+     */
+    default String resolvePath(String... propertyNames) {
+        StringBuilder name = new StringBuilder();
+        for (int i = 0; i < propertyNames.length; i++) {
+            if (i != 0) name.append('_');
+            name.append(resolve(propertyNames[i]));
+        }
+        return name.toString();
+    }
+
+    /**
+     * Returns a strategy that prepends the specified prefix to the names resolved by the specified strategy.
+     *
+     * <p>Example: {@code prefixed("m_", Naming.CAMEL_TO_SNAKE)} resolves {@code catLeg} to {@code m_cat_leg}</p>
+     *
+     * @param prefix   the prefix, non-nullable
+     * @param strategy the strategy to resolve names before prepending the prefix, non-nullable
+     * @return a new strategy
+     */
+    static NamingStrategy prefixed(String prefix, NamingStrategy strategy) {
+        if (prefix == null) throw new NullPointerException("prefix must not be null");
+        if (strategy == null) throw new NullPointerException("strategy must not be null");
+        return new PrefixedNaming(prefix, strategy);
+    }
+
+}
@@ -0,0 +1,115 @@
+/*
+ * The MIT License
+ * Copyright (c) 2018 sciencesakura
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.sciencesakura.dbunit.dataset.bean;
+
+import org.dbunit.dataset.Column;
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.datatype.DataType;
+
+import java.util.HashMap;
+import java.util.Map;
+
+final class PolymorphicBeanColumn extends BeanColumn {
+
+    private static final int INLINE_CACHE_SIZE = 4;
+
+    private final Class<?>[] inlineTypes;
+
+    private final BeanColumn[] inlineColumns;
+
+    private final Map<Class<?>, BeanColumn> megamorphicColumns;
+
+    private final Column dbUnitColumn;
+
+    PolymorphicBeanColumn(String name, Class<?> declaringClass, Class<?>[] types, BeanColumn[] columns) {
+        super(name, unionType(columns), declaringClass, null);
+        int inlineSize = Math.min(types.length, INLINE_CACHE_SIZE);
+        inlineTypes = new Class<?>[inlineSize];
+        inlineColumns = new BeanColumn[inlineSize];
+        System.arraycopy(types, 0, inlineTypes, 0, inlineSize);
+        System.arraycopy(columns, 0, inlineColumns, 0, inlineSize);
+        megamorphicColumns = new HashMap<Class<?>, BeanColumn>();
+        for (int i = inlineSize; i < types.length; i++) {
+            megamorphicColumns.put(types[i], columns[i]);
+        }
+        dbUnitColumn = new Column(name, unionDataType(columns));
+    }
+
+    private static Class<?> unionType(BeanColumn[] columns) {
+        Class<?> type = columns[0] == null ? null : columns[0].getType();
+        for (BeanColumn column : columns) {
+            // a missing property reads as null, which a primitive type cannot hold
+            if (column == null || column.getType() != type) return boxedUnionType(columns);
+        }
+        return type;
+    }
+
+    private static Class<?> boxedUnionType(BeanColumn[] columns) {
+        Class<?> type = null;
+        for (BeanColumn column : columns) {
+            if (column == null) continue;
+            Class<?> columnType = PropertyPath.box(column.getType());
+            if (type == null) {
+                type = columnType;
+            } else if (type != columnType) {
+                return Object.class;
+            }
+        }
+        return type == null ? Object.class : type;
+    }
+
+    private static DataType unionDataType(BeanColumn[] columns) {
+        DataType dataType = null;
+        for (BeanColumn column : columns) {
+            if (column == null) continue;
+            DataType columnDataType = column.toDbUnitColumn().getDataType();
+            if (dataType == null) {
+                dataType = columnDataType;
+            } else if (dataType != columnDataType) {
+                return DataType.UNKNOWN;
+            }
+        }
+        return dataType == null ? DataType.UNKNOWN : dataType;
+    }
+
+    @Override
+    Object getValue(Object bean) throws DataSetException {
+        Class<?> type = bean.getClass();
+        for (int i = 0; i < inlineTypes.length; i++) {
+            if (inlineTypes[i] == type) {
+                BeanColumn column = inlineColumns[i];
+                return column == null ? null : column.getValue(bean);
+            }
+        }
+        BeanColumn column = megamorphicColumns.get(type);
+        if (column != null) return column.getValue(bean);
+        if (megamorphicColumns.containsKey(type)) return null;
+        throw new IllegalStateException(String.format("%1s was not added to the table", type.getName()));
+    }
+
+    @Override
+    Column toDbUnitColumn() {
+        return dbUnitColumn;
+    }
+
+}
@@ -0,0 +1,59 @@
+/*
+ * The MIT License
+ * Copyright (c) 2018 sciencesakura
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.sciencesakura.dbunit.dataset.bean;
+
+final class PrefixedNaming implements NamingStrategy {
+
+    private final String prefix;
+
+    private final NamingStrategy strategy;
+
+    PrefixedNaming(String prefix, NamingStrategy strategy) {
+        this.prefix = prefix;
+        this.strategy = strategy;
+    }
+
+    @Override
+    public String resolve(String propertyName) {
+        return prefix + strategy.resolve(propertyName);
+    }
+
+    @Override
+    public String resolvePath(String... propertyNames) {
+        return prefix + strategy.resolvePath(propertyNames);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (!(obj instanceof PrefixedNaming)) return false;
+        PrefixedNaming other = (PrefixedNaming) obj;
+        return prefix.equals(other.prefix) && strategy.equals(other.strategy);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * prefix.hashCode() + strategy.hashCode();
+    }
+
+}
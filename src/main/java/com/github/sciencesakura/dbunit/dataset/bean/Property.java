@@ -0,0 +1,80 @@
+/*
+ * The MIT License
+ * Copyright (c) 2018 sciencesakura
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.sciencesakura.dbunit.dataset.bean;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+final class Property {
+
+    private final String name;
+
+    private final Class<?> type;
+
+    private final Method method;
+
+    private final Field field;
+
+    Property(String name, Class<?> type, Method method) {
+        this.name = name;
+        this.type = type;
+        this.method = method;
+        this.field = null;
+    }
+
+    Property(Field field) {
+        this.name = field.getName();
+        this.type = field.getType();
+        this.method = null;
+        this.field = field;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    Class<?> getType() {
+        return type;
+    }
+
+    Class<?> getDeclaringClass() {
+        return field == null ? method.getDeclaringClass() : field.getDeclaringClass();
+    }
+
+    Method getMethod() {
+        return method;
+    }
+
+    Field getField() {
+        return field;
+    }
+
+    Getter getter(Accessor accessor) {
+        return field == null ? accessor.getter(method) : accessor.getter(field);
+    }
+
+    Setter setter(Accessor accessor) {
+        return field == null ? accessor.setter(method) : accessor.setter(field);
+    }
+
+}
@@ -0,0 +1,111 @@
+/*
+ * The MIT License
+ * Copyright (c) 2018 sciencesakura
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.sciencesakura.dbunit.dataset.bean;
+
+import org.dbunit.DatabaseUnitRuntimeException;
+import org.dbunit.dataset.datatype.DataType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+final class PropertyPath {
+
+    private PropertyPath() {
+    }
+
+    static Property[] resolve(Class<?> type, String path, Introspection introspection) {
+        String[] names = path.split("\\.", -1);
+        Property[] segments = new Property[names.length];
+        Class<?> current = type;
+        for (int i = 0; i < names.length; i++) {
+            segments[i] = find(current, names[i], introspection);
+            if (segments[i] == null) {
+                throw new DatabaseUnitRuntimeException(String.format("%1s has no property %2s",
+                    type.getName(), path));
+            }
+            current = segments[i].getType();
+        }
+        return segments;
+    }
+
+    private static Property find(Class<?> type, String name, Introspection introspection) {
+        for (Property property : introspection.properties(type, Object.class)) {
+            if (property.getName().equals(name)) return property;
+        }
+        return null;
+    }
+
+    static List<Property[]> flatten(Property property, int depth, Introspection introspection) {
+        List<Property[]> paths = new ArrayList<Property[]>();
+        flatten(new Property[] {property}, depth, introspection, paths);
+        return paths;
+    }
+
+    private static void flatten(Property[] path, int depth, Introspection introspection, List<Property[]> paths) {
+        Class<?> type = path[path.length - 1].getType();
+        List<Property> properties = depth == 0 || !isComposite(type) || !introspection.supports(type)
+            ? Collections.<Property>emptyList() : introspection.properties(type, Object.class);
+        if (properties.isEmpty()) {
+            // the nested POJO is mapped to a column as is if it cannot be flattened
+            paths.add(path);
+            return;
+        }
+        for (Property property : properties) {
+            Property[] child = Arrays.copyOf(path, path.length + 1);
+            child[path.length] = property;
+            flatten(child, depth - 1, introspection, paths);
+        }
+    }
+
+    private static boolean isComposite(Class<?> type) {
+        if (type.isPrimitive() || type.isArray() || type.isInterface() || type.isEnum()) return false;
+        String name = type.getName();
+        if (name.startsWith("java.") || name.startsWith("javax.")) return false;
+        return DataTypeMappings.lookup(type).dataType == DataType.UNKNOWN;
+    }
+
+    static BeanColumn column(Property[] path, NamingStrategy naming, Accessor accessor) {
+        if (path.length == 1) return new BeanColumn(path[0], naming, accessor);
+        String[] names = new String[path.length];
+        for (int i = 0; i < path.length; i++) {
+            names[i] = path[i].getName();
+        }
+        return new BeanColumn(naming.resolvePath(names), box(path[path.length - 1].getType()), path[0].getDeclaringClass(),
+            accessor.getter(path));
+    }
+
+    static Class<?> box(Class<?> type) {
+        if (!type.isPrimitive()) return type;
+        if (type == Boolean.TYPE) return Boolean.class;
+        if (type == Byte.TYPE) return Byte.class;
+        if (type == Short.TYPE) return Short.class;
+        if (type == Character.TYPE) return Character.class;
+        if (type == Integer.TYPE) return Integer.class;
+        if (type == Long.TYPE) return Long.class;
+        if (type == Float.TYPE) return Float.class;
+        return Double.class;
+    }
+
+}
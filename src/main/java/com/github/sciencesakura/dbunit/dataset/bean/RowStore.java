@@ -0,0 +1,161 @@
+/*
+ * The MIT License
+ * Copyright (c) 2018 sciencesakura
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.sciencesakura.dbunit.dataset.bean;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.RandomAccess;
+
+final class RowStore {
+
+    private static final int CHUNK_SHIFT = 10;
+
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private static final Object[][] EMPTY = new Object[0][];
+
+    private Object[][] chunks = EMPTY;
+
+    private int size;
+
+    private List<?> wrapped;
+
+    int size() {
+        return size;
+    }
+
+    void add(Object bean) {
+        if (bean == null) throw new NullPointerException("bean must not be null");
+        unwrap();
+        ensureCapacity(size + 1);
+        append(bean);
+    }
+
+    void addAll(Object[] beans) {
+        unwrap();
+        ensureCapacity(size + beans.length);
+        for (Object bean : beans) {
+            if (bean == null) throw new NullPointerException("beans must not contain null");
+            append(bean);
+        }
+    }
+
+    void addAll(Collection<?> beans) {
+        unwrap();
+        ensureCapacity(size + beans.size());
+        for (Object bean : beans) {
+            if (bean == null) throw new NullPointerException("beans must not contain null");
+            append(bean);
+        }
+    }
+
+    void wrap(List<?> beans) {
+        if (size != 0 || !(beans instanceof RandomAccess)) {
+            addAll(beans);
+            return;
+        }
+        for (int i = 0, n = beans.size(); i < n; i++) {
+            if (beans.get(i) == null) throw new NullPointerException("beans must not contain null");
+        }
+        wrapped = beans;
+        size = beans.size();
+    }
+
+    Rows seal() {
+        if (wrapped != null) return new ListRows(wrapped, size);
+        return new ChunkedRows(chunks, size);
+    }
+
+    private void unwrap() {
+        if (wrapped == null) return;
+        List<?> beans = wrapped;
+        wrapped = null;
+        size = 0;
+        ensureCapacity(beans.size());
+        for (int i = 0, n = beans.size(); i < n; i++) {
+            append(beans.get(i));
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        int chunkCount = (capacity + CHUNK_MASK) >>> CHUNK_SHIFT;
+        if (chunks.length < chunkCount) {
+            chunks = Arrays.copyOf(chunks, Math.max(chunkCount, chunks.length + (chunks.length >> 1)));
+        }
+    }
+
+    private void append(Object bean) {
+        int chunk = size >>> CHUNK_SHIFT;
+        if (chunks[chunk] == null) chunks[chunk] = new Object[CHUNK_SIZE];
+        chunks[chunk][size & CHUNK_MASK] = bean;
+        size++;
+    }
+
+    abstract static class Rows {
+
+        final int size;
+
+        Rows(int size) {
+            this.size = size;
+        }
+
+        abstract Object get(int index);
+
+    }
+
+    private static final class ChunkedRows extends Rows {
+
+        private final Object[][] chunks;
+
+        private ChunkedRows(Object[][] chunks, int size) {
+            super(size);
+            this.chunks = chunks;
+        }
+
+        @Override
+        Object get(int index) {
+            return chunks[index >>> CHUNK_SHIFT][index & CHUNK_MASK];
+        }
+
+    }
+
+    private static final class ListRows extends Rows {
+
+        private final List<?> beans;
+
+        private ListRows(List<?> beans, int size) {
+            super(size);
+            this.beans = beans;
+        }
+
+        @Override
+        Object get(int index) {
+            return beans.get(index);
+        }
+
+    }
+
+}
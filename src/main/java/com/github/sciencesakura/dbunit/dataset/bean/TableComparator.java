@@ -0,0 +1,445 @@
+/*
+ * The MIT License
+ * Copyright (c) 2018 sciencesakura
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.sciencesakura.dbunit.dataset.bean;
+
+import org.dbunit.dataset.Column;
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.ITable;
+import org.dbunit.dataset.ITableMetaData;
+import org.dbunit.dataset.NoSuchColumnException;
+import org.dbunit.dataset.RowOutOfBoundsException;
+import org.dbunit.dataset.datatype.DataType;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Compares an expected table with a {@link BeanTable} by matching their rows on key columns.
+ *
+ * <p>Unlike comparing {@link org.dbunit.dataset.SortedTable SortedTable}s, the rows need not be sorted: the actual
+ * rows are indexed by their keys in a hash table, and the expected rows are looked up in a single forward pass. So
+ * the expected table may be a forward-only table of a {@link org.dbunit.dataset.stream.StreamingDataSet
+ * StreamingDataSet}. The key values and the other values are compared after being cast to the data type of the
+ * actual column, or of the expected column if the former is {@link DataType#UNKNOWN}.</p>
+ *
+ * <p>The columns compared are the columns of the expected table; the actual table must have all of them. If both
+ * tables are {@link BeanTable}s and a column is dictionary-encoded in both, each pair of distinct values of the
+ * column is compared only once.</p>
+ *
+ * @see TableComparator.Builder
+ */
+public class TableComparator {
+
+    private static final int MAX_MEMO_SIZE = 1 << 20;
+
+    private static final byte EQUAL = 1;
+
+    private static final byte DIFFERENT = 2;
+
+    private final String[] keyColumns;
+
+    private final int maxDifferences;
+
+    private final ForkJoinPool pool;
+
+    private TableComparator(Builder builder) {
+        keyColumns = builder.keyColumns;
+        maxDifferences = builder.maxDifferences;
+        pool = builder.pool;
+    }
+
+    /**
+     * Compares the specified tables.
+     *
+     * @param expected the expected table, non-nullable
+     * @param actual   the actual table, non-nullable
+     * @return the differences between the tables
+     * @throws DataSetException if a column is missing, or failed to read or cast a value
+     */
+    public TableDiff compare(ITable expected, BeanTable<?> actual) throws DataSetException {
+        if (expected == null) throw new NullPointerException("expected must not be null");
+        if (actual == null) throw new NullPointerException("actual must not be null");
+        return new Comparison(expected, actual).run();
+    }
+
+    private final class Comparison {
+
+        private final ITable expected;
+
+        private final BeanTable<?> actual;
+
+        private final String[] columnNames;
+
+        private final int[] actualIndexes;
+
+        private final DataType[] dataTypes;
+
+        private final int[] keys;
+
+        private final BeanTable<?> expectedBeanTable;
+
+        private final int[] actualDictionarySizes;
+
+        private final byte[][] memos;
+
+        private final List<TableDiff.Difference> differences = new ArrayList<TableDiff.Difference>();
+
+        Comparison(ITable expected, BeanTable<?> actual) throws DataSetException {
+            this.expected = expected;
+            this.actual = actual;
+            ITableMetaData expectedMetaData = expected.getTableMetaData();
+            ITableMetaData actualMetaData = actual.getTableMetaData();
+            Column[] expectedColumns = expectedMetaData.getColumns();
+            Column[] actualColumns = actualMetaData.getColumns();
+            columnNames = new String[expectedColumns.length];
+            actualIndexes = new int[expectedColumns.length];
+            dataTypes = new DataType[expectedColumns.length];
+            for (int i = 0; i < expectedColumns.length; i++) {
+                columnNames[i] = expectedColumns[i].getColumnName();
+                actualIndexes[i] = actualMetaData.getColumnIndex(columnNames[i]);
+                DataType dataType = actualColumns[actualIndexes[i]].getDataType();
+                dataTypes[i] = dataType == DataType.UNKNOWN ? expectedColumns[i].getDataType() : dataType;
+            }
+            keys = new int[keyColumns.length];
+            for (int k = 0; k < keys.length; k++) {
+                keys[k] = indexOf(keyColumns[k]);
+                if (keys[k] == -1) throw new NoSuchColumnException(expectedMetaData.getTableName(), keyColumns[k]);
+            }
+            expectedBeanTable = expected instanceof BeanTable ? (BeanTable<?>) expected : null;
+            actualDictionarySizes = new int[expectedColumns.length];
+            memos = new byte[expectedColumns.length][];
+            for (int i = 0; expectedBeanTable != null && i < expectedColumns.length; i++) {
+                Object[] expectedDictionary = expectedBeanTable.dictionary(i);
+                Object[] actualDictionary = actual.dictionary(actualIndexes[i]);
+                if (expectedDictionary == null || actualDictionary == null) continue;
+                long memoSize = (long) expectedDictionary.length * actualDictionary.length;
+                if (MAX_MEMO_SIZE < memoSize) continue;
+                actualDictionarySizes[i] = actualDictionary.length;
+                memos[i] = new byte[(int) memoSize];
+            }
+        }
+
+        private int indexOf(String columnName) {
+            for (int i = 0; i < columnNames.length; i++) {
+                if (columnNames[i].equalsIgnoreCase(columnName)) return i;
+            }
+            return -1;
+        }
+
+        TableDiff run() throws DataSetException {
+            int actualRowCount = actual.getRowCount();
+            Object[][] actualKeys = new Object[actualRowCount][];
+            RowKey[] normalizedKeys = new RowKey[actualRowCount];
+            if (pool == null) {
+                extractKeys(actualKeys, normalizedKeys, 0, actualRowCount);
+            } else {
+                Chunks.forEach(pool, actualRowCount, (from, to) -> extractKeys(actualKeys, normalizedKeys, from, to));
+            }
+            Map<RowKey, Integer> index = new HashMap<RowKey, Integer>(Math.max(16, (int) (actualRowCount / 0.75f) + 1));
+            boolean[] matched = new boolean[actualRowCount];
+            for (int r = 0; r < actualRowCount; r++) {
+                if (index.putIfAbsent(normalizedKeys[r], r) == null) continue;
+                // reported once as a duplicate, not again as an unexpected row
+                matched[r] = true;
+                if (report(TableDiff.Kind.DUPLICATE_KEY, actualKeys[r], -1, r)) return diff(true);
+            }
+            if (pool == null ? compareSequentially(index, matched) : compareInParallel(index, matched)) {
+                return diff(true);
+            }
+            for (int r = 0; r < actualRowCount; r++) {
+                if (matched[r]) continue;
+                if (report(TableDiff.Kind.UNEXPECTED_ROW, actualKeys[r], -1, r)) return diff(true);
+            }
+            return diff(false);
+        }
+
+        private void extractKeys(Object[][] actualKeys, RowKey[] normalizedKeys, int from, int to)
+            throws DataSetException {
+            for (int r = from; r < to; r++) {
+                Object[] values = new Object[keys.length];
+                for (int k = 0; k < keys.length; k++) {
+                    values[k] = actual.getValue(r, actualIndexes[keys[k]]);
+                }
+                actualKeys[r] = values;
+                normalizedKeys[r] = key(values);
+            }
+        }
+
+        private boolean compareSequentially(Map<RowKey, Integer> index, boolean[] matched) throws DataSetException {
+            List<TableDiff.Difference> found = new ArrayList<TableDiff.Difference>();
+            for (int r = 0; ; r++) {
+                Object[] values = readExpected(r);
+                if (values == null) return false;
+                Object[] key = keyOf(values);
+                Integer actualRow = index.get(key(key));
+                if (actualRow == null) {
+                    if (report(TableDiff.Kind.MISSING_ROW, key, r, -1)) return true;
+                } else if (matched[actualRow]) {
+                    if (report(TableDiff.Kind.DUPLICATE_KEY, key, r, actualRow)) return true;
+                } else {
+                    matched[actualRow] = true;
+                    found.clear();
+                    compareRow(values, key, r, actualRow, found);
+                    if (addAll(found)) return true;
+                }
+            }
+        }
+
+        private boolean compareInParallel(Map<RowKey, Integer> index, boolean[] matched) throws DataSetException {
+            int window = Chunks.SIZE * Math.max(1, pool.getParallelism()) * 4;
+            Object[][] expectedValues = new Object[window][];
+            Object[][] expectedKeys = new Object[window][];
+            int[] actualRows = new int[window];
+            TableDiff.Kind[] kinds = new TableDiff.Kind[window];
+            List<List<TableDiff.Difference>> found = new ArrayList<List<TableDiff.Difference>>(window);
+            for (int i = 0; i < window; i++) {
+                found.add(null);
+            }
+            for (int offset = 0; ; offset += window) {
+                int size = 0;
+                while (size < window) {
+                    Object[] values = readExpected(offset + size);
+                    if (values == null) break;
+                    Object[] key = keyOf(values);
+                    Integer actualRow = index.get(key(key));
+                    expectedValues[size] = values;
+                    expectedKeys[size] = key;
+                    actualRows[size] = actualRow == null ? -1 : actualRow;
+                    if (actualRow == null) {
+                        kinds[size] = TableDiff.Kind.MISSING_ROW;
+                    } else if (matched[actualRow]) {
+                        kinds[size] = TableDiff.Kind.DUPLICATE_KEY;
+                    } else {
+                        kinds[size] = null;
+                        matched[actualRow] = true;
+                    }
+                    size++;
+                }
+                final int start = offset;
+                Chunks.forEach(pool, size, (from, to) -> {
+                    for (int i = from; i < to; i++) {
+                        if (kinds[i] != null) continue;
+                        List<TableDiff.Difference> row = new ArrayList<TableDiff.Difference>(0);
+                        compareRow(expectedValues[i], expectedKeys[i], start + i, actualRows[i], row);
+                        found.set(i, row);
+                    }
+                });
+                for (int i = 0; i < size; i++) {
+                    if (kinds[i] == null) {
+                        if (addAll(found.get(i))) return true;
+                    } else if (report(kinds[i], expectedKeys[i], offset + i, actualRows[i])) {
+                        return true;
+                    }
+                }
+                if (size < window) return false;
+            }
+        }
+
+        private Object[] readExpected(int row) throws DataSetException {
+            Object[] values = new Object[columnNames.length];
+            if (values.length == 0) return Rows.hasRow(expected, row) ? values : null;
+            try {
+                values[0] = expected.getValue(row, columnNames[0]);
+            } catch (RowOutOfBoundsException e) {
+                return null;
+            }
+            for (int i = 1; i < values.length; i++) {
+                values[i] = expected.getValue(row, columnNames[i]);
+            }
+            return values;
+        }
+
+        private Object[] keyOf(Object[] values) {
+            Object[] key = new Object[keys.length];
+            for (int k = 0; k < keys.length; k++) {
+                key[k] = values[keys[k]];
+            }
+            return key;
+        }
+
+        private void compareRow(Object[] expectedValues, Object[] key, int expectedRow, int actualRow,
+                                List<TableDiff.Difference> found) throws DataSetException {
+            for (int i = 0; i < columnNames.length; i++) {
+                Object actualValue = actual.getValue(actualRow, actualIndexes[i]);
+                if (matches(i, expectedValues[i], actualValue, expectedRow, actualRow)) continue;
+                found.add(new TableDiff.Difference(TableDiff.Kind.VALUE_MISMATCH, keyList(key), expectedRow,
+                    actualRow, columnNames[i], expectedValues[i], actualValue));
+            }
+        }
+
+        private boolean matches(int column, Object expectedValue, Object actualValue, int expectedRow, int actualRow)
+            throws DataSetException {
+            byte[] memo = memos[column];
+            if (memo == null) return dataTypes[column].compare(expectedValue, actualValue) == 0;
+            int slot = expectedBeanTable.code(expectedRow, column) * actualDictionarySizes[column]
+                + actual.code(actualRow, actualIndexes[column]);
+            byte result = memo[slot];
+            if (result == 0) {
+                // racy but idempotent when comparing in parallel
+                result = dataTypes[column].compare(expectedValue, actualValue) == 0 ? EQUAL : DIFFERENT;
+                memo[slot] = result;
+            }
+            return result == EQUAL;
+        }
+
+        private boolean addAll(List<TableDiff.Difference> found) {
+            for (TableDiff.Difference difference : found) {
+                differences.add(difference);
+                if (differences.size() >= maxDifferences) return true;
+            }
+            return false;
+        }
+
+        private boolean report(TableDiff.Kind kind, Object[] key, int expectedRow, int actualRow) {
+            differences.add(new TableDiff.Difference(kind, keyList(key), expectedRow, actualRow, null, null, null));
+            return differences.size() >= maxDifferences;
+        }
+
+        private RowKey key(Object[] values) throws DataSetException {
+            Object[] normalized = new Object[values.length];
+            for (int k = 0; k < values.length; k++) {
+                normalized[k] = normalize(dataTypes[keys[k]], values[k]);
+            }
+            return new RowKey(normalized);
+        }
+
+        private TableDiff diff(boolean truncated) {
+            return new TableDiff(differences, truncated);
+        }
+
+    }
+
+    private static Object normalize(DataType dataType, Object value) throws DataSetException {
+        if (value == null) return null;
+        Object cast = dataType == DataType.UNKNOWN && !(value instanceof byte[]) ? value.toString()
+            : dataType.typeCast(value);
+        if (cast instanceof byte[]) return ByteBuffer.wrap((byte[]) cast);
+        if (cast instanceof BigDecimal) return ((BigDecimal) cast).stripTrailingZeros();
+        return cast;
+    }
+
+    private static List<Object> keyList(Object[] key) {
+        return Collections.unmodifiableList(Arrays.asList(key));
+    }
+
+    private static final class RowKey {
+
+        private final Object[] values;
+
+        private final int hash;
+
+        RowKey(Object[] values) {
+            this.values = values;
+            hash = Arrays.hashCode(values);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (!(obj instanceof RowKey)) return false;
+            RowKey other = (RowKey) obj;
+            return hash == other.hash && Arrays.equals(values, other.values);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+    }
+
+    /**
+     * A builder to create a {@link TableComparator} instances providing chainable methods.
+     */
+    public static class Builder {
+
+        private final String[] keyColumns;
+
+        private int maxDifferences = Integer.MAX_VALUE;
+
+        private ForkJoinPool pool;
+
+        /**
+         * Constructs a builder.
+         *
+         * @param keyColumns the names of the columns identifying a row, non-nullable and non-empty
+         */
+        public Builder(String... keyColumns) {
+            if (keyColumns.length == 0) throw new IllegalArgumentException("keyColumns must not be empty");
+            for (String name : keyColumns) {
+                if (name == null) throw new NullPointerException("keyColumns must not contain null");
+            }
+            this.keyColumns = keyColumns.clone();
+        }
+
+        /**
+         * Constructs a {@link TableComparator} instance.
+         *
+         * @return a new {@link TableComparator} instance
+         */
+        public TableComparator build() {
+            return new TableComparator(this);
+        }
+
+        /**
+         * Specifies the number of the differences to stop comparing at.
+         *
+         * <p>Default: {@link Integer#MAX_VALUE}</p>
+         *
+         * @param maxDifferences the maximum number of the differences, positive
+         * @return the reference to this object
+         */
+        public Builder maxDifferences(int maxDifferences) {
+            if (maxDifferences <= 0) throw new IllegalArgumentException("maxDifferences must be positive");
+            this.maxDifferences = maxDifferences;
+            return this;
+        }
+
+        /**
+         * Specifies to read and compare the rows in parallel.
+         *
+         * <p>The rows are split into chunks, and the values of the chunks are read from the actual table and compared
+         * on the specified pool; the expected table is still read by a single thread. The differences are merged in
+         * the order of the rows, so the result is the same as when comparing sequentially.</p>
+         *
+         * <p>Default: none; the rows are compared sequentially</p>
+         *
+         * @param pool the pool to compare the rows on, non-nullable
+         * @return the reference to this object
+         */
+        public Builder parallel(ForkJoinPool pool) {
+            if (pool == null) throw new NullPointerException("pool must not be null");
+            this.pool = pool;
+            return this;
+        }
+
+    }
+
+}
@@ -0,0 +1,215 @@
+/*
+ * The MIT License
+ * Copyright (c) 2018 sciencesakura
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.sciencesakura.dbunit.dataset.bean;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The differences between an expected table and an actual table found by {@link TableComparator}.
+ */
+public final class TableDiff {
+
+    private final List<Difference> differences;
+
+    private final boolean truncated;
+
+    TableDiff(List<Difference> differences, boolean truncated) {
+        this.differences = Collections.unmodifiableList(differences);
+        this.truncated = truncated;
+    }
+
+    /**
+     * Returns the differences in the order they were found.
+     *
+     * @return the unmodifiable list of the differences
+     */
+    public List<Difference> getDifferences() {
+        return differences;
+    }
+
+    /**
+     * Returns whether the tables have no differences.
+     *
+     * @return {@code true} if the tables have no differences
+     */
+    public boolean isEmpty() {
+        return differences.isEmpty();
+    }
+
+    /**
+     * Returns whether the comparison stopped on reaching the maximum number of the differences.
+     *
+     * @return {@code true} if there may be more differences than the ones returned
+     */
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(differences.size()).append(truncated ? " or more" : "").append(" difference(s)");
+        for (Difference difference : differences) {
+            sb.append(System.lineSeparator()).append(difference);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * The kind of a {@link Difference}.
+     */
+    public enum Kind {
+
+        /**
+         * The expected row has no actual row with the same key.
+         */
+        MISSING_ROW,
+
+        /**
+         * The actual row has no expected row with the same key.
+         */
+        UNEXPECTED_ROW,
+
+        /**
+         * The key is shared by two or more rows of the same table.
+         */
+        DUPLICATE_KEY,
+
+        /**
+         * The rows with the same key have different values in a column.
+         */
+        VALUE_MISMATCH
+
+    }
+
+    /**
+     * A difference between an expected table and an actual table.
+     */
+    public static final class Difference {
+
+        private final Kind kind;
+
+        private final List<Object> key;
+
+        private final int expectedRow;
+
+        private final int actualRow;
+
+        private final String columnName;
+
+        private final Object expectedValue;
+
+        private final Object actualValue;
+
+        Difference(Kind kind, List<Object> key, int expectedRow, int actualRow, String columnName,
+                   Object expectedValue, Object actualValue) {
+            this.kind = kind;
+            this.key = key;
+            this.expectedRow = expectedRow;
+            this.actualRow = actualRow;
+            this.columnName = columnName;
+            this.expectedValue = expectedValue;
+            this.actualValue = actualValue;
+        }
+
+        /**
+         * Returns the kind of this difference.
+         *
+         * @return the kind
+         */
+        public Kind getKind() {
+            return kind;
+        }
+
+        /**
+         * Returns the values of the key columns of the row.
+         *
+         * @return the key values
+         */
+        public List<Object> getKey() {
+            return key;
+        }
+
+        /**
+         * Returns the row index in the expected table.
+         *
+         * @return the row index, or {@code -1} if there is no such row
+         */
+        public int getExpectedRow() {
+            return expectedRow;
+        }
+
+        /**
+         * Returns the row index in the actual table.
+         *
+         * @return the row index, or {@code -1} if there is no such row
+         */
+        public int getActualRow() {
+            return actualRow;
+        }
+
+        /**
+         * Returns the name of the column that has different values.
+         *
+         * @return the column name, or {@code null} unless the kind is {@link Kind#VALUE_MISMATCH}
+         */
+        public String getColumnName() {
+            return columnName;
+        }
+
+        /**
+         * Returns the expected value.
+         *
+         * @return the expected value, or {@code null} unless the kind is {@link Kind#VALUE_MISMATCH}
+         */
+        public Object getExpectedValue() {
+            return expectedValue;
+        }
+
+        /**
+         * Returns the actual value.
+         *
+         * @return the actual value, or {@code null} unless the kind is {@link Kind#VALUE_MISMATCH}
+         */
+        public Object getActualValue() {
+            return actualValue;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            sb.append(kind).append(" key=").append(key);
+            if (expectedRow != -1) sb.append(" expectedRow=").append(expectedRow);
+            if (actualRow != -1) sb.append(" actualRow=").append(actualRow);
+            if (kind == Kind.VALUE_MISMATCH) {
+                sb.append(" column=").append(columnName)
+                    .append(" expected=<").append(expectedValue).append('>')
+                    .append(" actual=<").append(actualValue).append('>');
+            }
+            return sb.toString();
+        }
+
+    }
+
+}
@@ -0,0 +1,526 @@
+/*
+ * The MIT License
+ * Copyright (c) 2018 sciencesakura
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.sciencesakura.dbunit.dataset.bean;
+
+import org.dbunit.dataset.Column;
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.IDataSet;
+import org.dbunit.dataset.ITable;
+import org.dbunit.dataset.ITableIterator;
+import org.dbunit.dataset.RowOutOfBoundsException;
+import org.dbunit.dataset.datatype.DataType;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes tables in CSV or flat XML directly to channels.
+ *
+ * <p>Unlike {@link org.dbunit.dataset.csv.CsvDataSetWriter CsvDataSetWriter} and
+ * {@link org.dbunit.dataset.xml.FlatXmlWriter FlatXmlWriter}, this encodes the values into a byte buffer by the
+ * {@link DataType} of each column: integers, booleans, dates, times, timestamps and binaries are written without
+ * intermediate strings, and strings are encoded in UTF-8 as they are escaped. The other values are written as
+ * {@link DataType#asString(Object)} returns. The rows are read in order exactly once, so that forward-only tables
+ * can be written.</p>
+ *
+ * <p>The output may be compressed in gzip; note that {@link org.dbunit.dataset.csv.CsvDataSet CsvDataSet} and
+ * {@link org.dbunit.dataset.xml.FlatXmlDataSet FlatXmlDataSet} do not read compressed files by themselves.</p>
+ *
+ * @see TableExporter.Builder
+ */
+public class TableExporter {
+
+    private static final byte[] LINE_SEPARATOR = System.lineSeparator().getBytes(StandardCharsets.US_ASCII);
+
+    private static final byte[] NULL = "null".getBytes(StandardCharsets.US_ASCII);
+
+    private static final byte[] TRUE = "true".getBytes(StandardCharsets.US_ASCII);
+
+    private static final byte[] FALSE = "false".getBytes(StandardCharsets.US_ASCII);
+
+    private static final byte[] XML_DECLARATION = "<?xml version='1.0' encoding='UTF-8'?>"
+        .getBytes(StandardCharsets.US_ASCII);
+
+    private final ExportFormat format;
+
+    private final int bufferSize;
+
+    private final boolean gzip;
+
+    private TableExporter(Builder builder) {
+        format = builder.format;
+        bufferSize = builder.bufferSize;
+        gzip = builder.gzip;
+    }
+
+    /**
+     * Writes the specified table to the specified channel.
+     *
+     * <p>The channel is left open.</p>
+     *
+     * @param table   the table to write, non-nullable
+     * @param channel the channel to write to, non-nullable
+     * @throws DataSetException if failed to read a value from the table
+     * @throws IOException      if failed to write to the channel
+     */
+    public void export(ITable table, WritableByteChannel channel) throws DataSetException, IOException {
+        if (table == null) throw new NullPointerException("table must not be null");
+        if (channel == null) throw new NullPointerException("channel must not be null");
+        ChannelWriter out = new ChannelWriter(channel, bufferSize, gzip);
+        switch (format) {
+            case CSV:
+                writeCsv(out, table);
+                break;
+            case FLAT_XML:
+                startXml(out);
+                writeXml(out, table);
+                endXml(out);
+                break;
+            default:
+                throw new UnsupportedOperationException(String.format("%1s is not supported", format));
+        }
+        out.finish();
+    }
+
+    /**
+     * Writes the specified table to the specified file.
+     *
+     * <p>The file is created, or overwritten if exists.</p>
+     *
+     * @param table the table to write, non-nullable
+     * @param file  the file to write to, non-nullable
+     * @throws DataSetException if failed to read a value from the table
+     * @throws IOException      if failed to write to the file
+     */
+    public void export(ITable table, Path file) throws DataSetException, IOException {
+        if (file == null) throw new NullPointerException("file must not be null");
+        try (FileChannel channel = open(file)) {
+            export(table, channel);
+        }
+    }
+
+    /**
+     * Writes all the tables of the specified data set.
+     *
+     * <p>With {@link ExportFormat#CSV}, the path is a directory to write a file per table, named by the table with
+     * {@code .csv} (and {@code .gz} if compressed) suffix, and {@code table-ordering.txt} listing the tables. With
+     * {@link ExportFormat#FLAT_XML}, the path is a file to write all the tables. The files are created, or
+     * overwritten if exist.</p>
+     *
+     * @param dataSet the data set to write, non-nullable
+     * @param path    the directory or file to write to, non-nullable
+     * @throws DataSetException if failed to read a value from the data set
+     * @throws IOException      if failed to write to the files
+     */
+    public void export(IDataSet dataSet, Path path) throws DataSetException, IOException {
+        if (dataSet == null) throw new NullPointerException("dataSet must not be null");
+        if (path == null) throw new NullPointerException("path must not be null");
+        ITableIterator iterator = dataSet.iterator();
+        switch (format) {
+            case CSV:
+                Files.createDirectories(path);
+                List<String> tableNames = new ArrayList<String>();
+                while (iterator.next()) {
+                    ITable table = iterator.getTable();
+                    String tableName = table.getTableMetaData().getTableName();
+                    export(table, path.resolve(tableName + (gzip ? ".csv.gz" : ".csv")));
+                    tableNames.add(tableName);
+                }
+                Files.write(path.resolve("table-ordering.txt"), tableNames, StandardCharsets.UTF_8);
+                break;
+            case FLAT_XML:
+                try (FileChannel channel = open(path)) {
+                    ChannelWriter out = new ChannelWriter(channel, bufferSize, gzip);
+                    startXml(out);
+                    while (iterator.next()) {
+                        writeXml(out, iterator.getTable());
+                    }
+                    endXml(out);
+                    out.finish();
+                }
+                break;
+            default:
+                throw new UnsupportedOperationException(String.format("%1s is not supported", format));
+        }
+    }
+
+    private static FileChannel open(Path file) throws IOException {
+        return FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.WRITE);
+    }
+
+    private static void writeCsv(ChannelWriter out, ITable table) throws DataSetException, IOException {
+        Column[] columns = table.getTableMetaData().getColumns();
+        for (int c = 0; c < columns.length; c++) {
+            if (c != 0) out.write((byte) ',');
+            out.write(columns[c].getColumnName());
+        }
+        out.write(LINE_SEPARATOR);
+        Row row = new Row(table, columns);
+        while (row.next()) {
+            for (int c = 0; c < columns.length; c++) {
+                if (c != 0) out.write((byte) ',');
+                Object value = row.values[c];
+                if (value == null) {
+                    out.write(NULL);
+                } else {
+                    out.write((byte) '"');
+                    writeValue(out, row.kinds[c], columns[c].getDataType(), value, false);
+                    out.write((byte) '"');
+                }
+            }
+            out.write(LINE_SEPARATOR);
+        }
+    }
+
+    private static void startXml(ChannelWriter out) throws IOException {
+        out.write(XML_DECLARATION);
+        out.write(LINE_SEPARATOR);
+        out.write("<dataset>");
+        out.write(LINE_SEPARATOR);
+    }
+
+    private static void writeXml(ChannelWriter out, ITable table) throws DataSetException, IOException {
+        String tableName = table.getTableMetaData().getTableName();
+        Column[] columns = table.getTableMetaData().getColumns();
+        Row row = new Row(table, columns);
+        boolean empty = true;
+        while (row.next()) {
+            empty = false;
+            out.write("  <");
+            out.write(tableName);
+            for (int c = 0; c < columns.length; c++) {
+                Object value = row.values[c];
+                if (value == null) continue;
+                out.write((byte) ' ');
+                out.write(columns[c].getColumnName());
+                out.write("=\"");
+                writeValue(out, row.kinds[c], columns[c].getDataType(), value, true);
+                out.write((byte) '"');
+            }
+            out.write("/>");
+            out.write(LINE_SEPARATOR);
+        }
+        if (empty) {
+            out.write("  <");
+            out.write(tableName);
+            out.write("/>");
+            out.write(LINE_SEPARATOR);
+        }
+    }
+
+    private static void endXml(ChannelWriter out) throws IOException {
+        out.write("</dataset>");
+        out.write(LINE_SEPARATOR);
+    }
+
+    private static void writeValue(ChannelWriter out, Kind kind, DataType dataType, Object value, boolean xml)
+        throws DataSetException, IOException {
+        if (!(value instanceof String)) {
+            switch (kind) {
+                case INTEGRAL:
+                    if (value instanceof Long || value instanceof Integer || value instanceof Short
+                        || value instanceof Byte) {
+                        out.write(((Number) value).longValue());
+                        return;
+                    }
+                    break;
+                case BOOLEAN:
+                    if (value instanceof Boolean) {
+                        out.write((Boolean) value ? TRUE : FALSE);
+                        return;
+                    }
+                    break;
+                case BINARY:
+                    if (value instanceof byte[]) {
+                        out.writeBase64((byte[]) value);
+                        return;
+                    }
+                    break;
+                case DATE:
+                    value = dataType.typeCast(toJdbcValue(value));
+                    if (writeDate(out, ((java.sql.Date) value).toLocalDate())) return;
+                    break;
+                case TIME:
+                    writeTime(out, ((Time) dataType.typeCast(toJdbcValue(value))).toLocalTime());
+                    return;
+                case TIMESTAMP:
+                    value = dataType.typeCast(toJdbcValue(value));
+                    Timestamp timestamp = (Timestamp) value;
+                    if (writeTimestamp(out, timestamp.toLocalDateTime(), timestamp.getNanos())) return;
+                    break;
+                default:
+                    break;
+            }
+        }
+        String s = value instanceof String ? (String) value : DataType.asString(value);
+        if (xml) {
+            writeXmlEscaped(out, s);
+        } else {
+            writeCsvEscaped(out, s);
+        }
+    }
+
+    private static Object toJdbcValue(Object value) {
+        // the values of a table other than BeanTable may be java.time values, which DataType#typeCast rejects
+        if (value instanceof java.util.Date) return value;
+        DataTypeMappings.Mapping mapping = DataTypeMappings.lookup(value.getClass());
+        return mapping.converts() ? mapping.convert(value) : value;
+    }
+
+    private static boolean writeDate(ChannelWriter out, LocalDate date) throws IOException {
+        int year = date.getYear();
+        if (year < 0 || 9999 < year) return false;
+        out.write(year, 4);
+        out.write((byte) '-');
+        out.write(date.getMonthValue(), 2);
+        out.write((byte) '-');
+        out.write(date.getDayOfMonth(), 2);
+        return true;
+    }
+
+    private static void writeTime(ChannelWriter out, LocalTime time) throws IOException {
+        out.write(time.getHour(), 2);
+        out.write((byte) ':');
+        out.write(time.getMinute(), 2);
+        out.write((byte) ':');
+        out.write(time.getSecond(), 2);
+    }
+
+    private static boolean writeTimestamp(ChannelWriter out, LocalDateTime dateTime, int nanos) throws IOException {
+        if (!writeDate(out, dateTime.toLocalDate())) return false;
+        out.write((byte) ' ');
+        writeTime(out, dateTime.toLocalTime());
+        out.write((byte) '.');
+        if (nanos == 0) {
+            out.write((byte) '0');
+            return true;
+        }
+        // trims the trailing zeros as Timestamp#toString() does
+        int width = 9;
+        while (nanos % 10 == 0) {
+            nanos /= 10;
+            width--;
+        }
+        out.write(nanos, width);
+        return true;
+    }
+
+    private static void writeCsvEscaped(ChannelWriter out, String s) throws IOException {
+        int from = 0;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c != '"' && c != '\\') continue;
+            out.write(s, from, i);
+            out.write((byte) '\\');
+            out.write((byte) c);
+            from = i + 1;
+        }
+        out.write(s, from, s.length());
+    }
+
+    private static void writeXmlEscaped(ChannelWriter out, String s) throws IOException {
+        int from = 0;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            String escaped;
+            switch (c) {
+                case '&':
+                    escaped = "&amp;";
+                    break;
+                case '<':
+                    escaped = "&lt;";
+                    break;
+                case '>':
+                    escaped = "&gt;";
+                    break;
+                case '"':
+                    escaped = "&quot;";
+                    break;
+                case '\'':
+                    escaped = "&apos;";
+                    break;
+                default:
+                    escaped = null;
+                    break;
+            }
+            if (escaped == null && 0x20 <= c) continue;
+            out.write(s, from, i);
+            if (escaped == null) {
+                // keeps the control characters which attribute value normalization would replace
+                out.write("&#");
+                out.write((long) c);
+                out.write((byte) ';');
+            } else {
+                out.write(escaped);
+            }
+            from = i + 1;
+        }
+        out.write(s, from, s.length());
+    }
+
+    private enum Kind {
+
+        INTEGRAL, BOOLEAN, BINARY, DATE, TIME, TIMESTAMP, TEXT;
+
+        static Kind of(DataType dataType) {
+            switch (dataType.getSqlType()) {
+                case Types.TINYINT:
+                case Types.SMALLINT:
+                case Types.INTEGER:
+                case Types.BIGINT:
+                    return INTEGRAL;
+                case Types.BOOLEAN:
+                case Types.BIT:
+                    return BOOLEAN;
+                case Types.BINARY:
+                case Types.VARBINARY:
+                case Types.LONGVARBINARY:
+                case Types.BLOB:
+                    return BINARY;
+                case Types.DATE:
+                    return DATE;
+                case Types.TIME:
+                    return TIME;
+                case Types.TIMESTAMP:
+                    return TIMESTAMP;
+                default:
+                    return TEXT;
+            }
+        }
+
+    }
+
+    private static final class Row {
+
+        private final ITable table;
+
+        private final BeanTable<?> beanTable;
+
+        private final Column[] columns;
+
+        private final Kind[] kinds;
+
+        private final Object[] values;
+
+        private int row = -1;
+
+        private Row(ITable table, Column[] columns) {
+            this.table = table;
+            this.beanTable = table instanceof BeanTable ? (BeanTable<?>) table : null;
+            this.columns = columns;
+            kinds = new Kind[columns.length];
+            for (int c = 0; c < columns.length; c++) {
+                kinds[c] = Kind.of(columns[c].getDataType());
+            }
+            values = new Object[columns.length];
+        }
+
+        private boolean next() throws DataSetException {
+            row++;
+            if (columns.length == 0) return Rows.hasRow(table, row);
+            try {
+                for (int c = 0; c < columns.length; c++) {
+                    values[c] = beanTable == null ? table.getValue(row, columns[c].getColumnName())
+                        : beanTable.getValue(row, c);
+                }
+            } catch (RowOutOfBoundsException e) {
+                return false;
+            }
+            return true;
+        }
+
+    }
+
+    /**
+     * A builder to create a {@link TableExporter} instances providing chainable methods.
+     */
+    public static class Builder {
+
+        private final ExportFormat format;
+
+        private int bufferSize = 65536;
+
+        private boolean gzip;
+
+        /**
+         * Constructs a builder.
+         *
+         * @param format the format to write, non-nullable
+         */
+        public Builder(ExportFormat format) {
+            if (format == null) throw new NullPointerException("format must not be null");
+            this.format = format;
+        }
+
+        /**
+         * Specifies the size of the buffer to encode the values into.
+         *
+         * <p>Default: {@code 65536}</p>
+         *
+         * @param bufferSize the size in bytes, positive
+         * @return the reference to this object
+         */
+        public Builder bufferSize(int bufferSize) {
+            if (bufferSize <= 0) throw new IllegalArgumentException("bufferSize must be positive");
+            this.bufferSize = bufferSize;
+            return this;
+        }
+
+        /**
+         * Constructs a {@link TableExporter} instance.
+         *
+         * @return a new {@link TableExporter} instance
+         */
+        public TableExporter build() {
+            return new TableExporter(this);
+        }
+
+        /**
+         * Specifies to compress the output in gzip.
+         *
+         * <p>Default: not compressed</p>
+         *
+         * @return the reference to this object
+         */
+        public Builder gzip() {
+            this.gzip = true;
+            return this;
+        }
+
+    }
+
+}
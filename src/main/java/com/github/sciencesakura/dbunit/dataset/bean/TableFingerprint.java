@@ -0,0 +1,326 @@
+/*
+ * The MIT License
+ * Copyright (c) 2018 sciencesakura
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.sciencesakura.dbunit.dataset.bean;
+
+import org.dbunit.dataset.Column;
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.ITable;
+import org.dbunit.dataset.ITableMetaData;
+import org.dbunit.dataset.NoSuchColumnException;
+import org.dbunit.dataset.RowOutOfBoundsException;
+import org.dbunit.dataset.datatype.DataType;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * A 64-bit content hash of a table, computed per column and for the whole table in a single pass.
+ *
+ * <p>Each value is cast by the {@link DataType} of its column before hashing, so that values equal by the data
+ * type hash the same regardless of their representation; e.g. {@code "1.50"} and {@code 1.5} in a
+ * {@code DECIMAL} column. The columns are identified by their upper-cased names and ordered by them, as
+ * {@link org.dbunit.Assertion Assertion} compares them. The hashes depend on the row order unless they are
+ * computed as order-independent. The values of a dictionary-encoded column of a {@link BeanTable} are cast and
+ * hashed once per distinct value.</p>
+ *
+ * <p>Equal fingerprints mean the tables are equal with high probability, but not certainly; different
+ * fingerprints mean the tables differ.</p>
+ */
+public final class TableFingerprint {
+
+    private static final long SEED = 0x9e3779b97f4a7c15L;
+
+    private static final long PRIME = 0x100000001b3L;
+
+    private static final long NULL = 0x6a09e667f3bcc908L;
+
+    private static final long NUMBER = 1L;
+
+    private static final long FLOATING = 2L;
+
+    private static final long BOOLEAN = 3L;
+
+    private static final long TIME = 4L;
+
+    private static final long TEXT = 5L;
+
+    private static final long BYTES = 6L;
+
+    private final String tableName;
+
+    private final Map<String, Long> columnHashes;
+
+    private final long tableHash;
+
+    private final int rowCount;
+
+    private final boolean orderIndependent;
+
+    private TableFingerprint(String tableName, Map<String, Long> columnHashes, long tableHash, int rowCount,
+                             boolean orderIndependent) {
+        this.tableName = tableName;
+        this.columnHashes = columnHashes;
+        this.tableHash = tableHash;
+        this.rowCount = rowCount;
+        this.orderIndependent = orderIndependent;
+    }
+
+    /**
+     * Computes the fingerprint of the specified table, casting the values by the data types of its columns.
+     *
+     * @param table            the table, non-nullable
+     * @param orderIndependent whether the fingerprint should not depend on the row order
+     * @return the fingerprint
+     * @throws DataSetException if failed to read or cast a value
+     */
+    public static TableFingerprint of(ITable table, boolean orderIndependent) throws DataSetException {
+        if (table == null) throw new NullPointerException("table must not be null");
+        return of(table, table.getTableMetaData(), orderIndependent);
+    }
+
+    /**
+     * Computes the fingerprint of the specified table, casting the values by the data types of the columns of the
+     * same names in the specified metadata.
+     *
+     * <p>This is to compute the fingerprint of an expected table whose columns are
+     * {@link DataType#UNKNOWN UNKNOWN}, such as the ones of {@link org.dbunit.dataset.csv.CsvDataSet CsvDataSet},
+     * by the data types of the actual table. The data type of a column is used if it is not {@code UNKNOWN} or the
+     * metadata has no column of the same name.</p>
+     *
+     * @param table            the table, non-nullable
+     * @param types            the metadata to take the data types from, non-nullable
+     * @param orderIndependent whether the fingerprint should not depend on the row order
+     * @return the fingerprint
+     * @throws DataSetException if failed to read or cast a value
+     */
+    public static TableFingerprint of(ITable table, ITableMetaData types, boolean orderIndependent)
+        throws DataSetException {
+        if (table == null) throw new NullPointerException("table must not be null");
+        if (types == null) throw new NullPointerException("types must not be null");
+        Column[] columns = sortedColumns(table.getTableMetaData().getColumns());
+        int[] indexes = new int[columns.length];
+        DataType[] dataTypes = new DataType[columns.length];
+        long namesHash = SEED;
+        for (int c = 0; c < columns.length; c++) {
+            String columnName = columns[c].getColumnName();
+            indexes[c] = table.getTableMetaData().getColumnIndex(columnName);
+            dataTypes[c] = dataTypeOf(columns[c], types);
+            namesHash = mix(namesHash * PRIME + text(columnName.toUpperCase(Locale.ENGLISH)));
+        }
+        BeanTable<?> beanTable = table instanceof BeanTable ? (BeanTable<?>) table : null;
+        long[][] dictionaryCells = new long[columns.length][];
+        for (int c = 0; beanTable != null && c < columns.length; c++) {
+            Object[] dictionary = beanTable.dictionary(indexes[c]);
+            if (dictionary == null) continue;
+            dictionaryCells[c] = new long[dictionary.length];
+            for (int i = 0; i < dictionary.length; i++) {
+                dictionaryCells[c][i] = cell(dataTypes[c].typeCast(dictionary[i]));
+            }
+        }
+        long[] columnHashes = new long[columns.length];
+        long tableHash = 0L;
+        int row = 0;
+        for (; columns.length != 0 || Rows.hasRow(table, row); row++) {
+            long rowHash = SEED;
+            try {
+                for (int c = 0; c < columns.length; c++) {
+                    long cell;
+                    if (dictionaryCells[c] != null) {
+                        cell = dictionaryCells[c][beanTable.code(row, indexes[c])];
+                    } else {
+                        Object value = beanTable == null ? table.getValue(row, columns[c].getColumnName())
+                            : beanTable.getValue(row, indexes[c]);
+                        cell = cell(dataTypes[c].typeCast(value));
+                    }
+                    rowHash = mix(rowHash * PRIME + cell);
+                    columnHashes[c] = orderIndependent ? columnHashes[c] + mix(cell)
+                        : mix(columnHashes[c] * PRIME + cell);
+                }
+            } catch (RowOutOfBoundsException e) {
+                break;
+            }
+            tableHash = orderIndependent ? tableHash + rowHash : mix(tableHash * PRIME + rowHash);
+        }
+        Map<String, Long> hashes = new LinkedHashMap<String, Long>();
+        for (int c = 0; c < columns.length; c++) {
+            hashes.put(columns[c].getColumnName().toUpperCase(Locale.ENGLISH), mix(columnHashes[c] ^ row));
+        }
+        tableHash = mix(tableHash ^ namesHash ^ (orderIndependent ? ~(long) row : row));
+        return new TableFingerprint(table.getTableMetaData().getTableName(), Collections.unmodifiableMap(hashes),
+            tableHash, row, orderIndependent);
+    }
+
+    private static Column[] sortedColumns(Column[] columns) {
+        Column[] sorted = columns.clone();
+        Arrays.sort(sorted, (a, b) -> a.getColumnName().compareToIgnoreCase(b.getColumnName()));
+        return sorted;
+    }
+
+    private static DataType dataTypeOf(Column column, ITableMetaData types) throws DataSetException {
+        if (column.getDataType() != DataType.UNKNOWN) return column.getDataType();
+        Column[] typeColumns = types.getColumns();
+        for (Column typeColumn : typeColumns) {
+            if (typeColumn.getColumnName().equalsIgnoreCase(column.getColumnName())) return typeColumn.getDataType();
+        }
+        return column.getDataType();
+    }
+
+    private static long cell(Object value) {
+        if (value == null) return NULL;
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return tagged(NUMBER, ((Number) value).longValue());
+        }
+        if (value instanceof String) return text((String) value);
+        if (value instanceof BigDecimal) return decimal(((BigDecimal) value).stripTrailingZeros());
+        if (value instanceof BigInteger) return decimal(new BigDecimal((BigInteger) value));
+        if (value instanceof Double || value instanceof Float) {
+            double d = ((Number) value).doubleValue();
+            long l = (long) d;
+            if (l == d && l != Long.MAX_VALUE && l != Long.MIN_VALUE) return tagged(NUMBER, l);
+            return tagged(FLOATING, Double.doubleToLongBits(d));
+        }
+        if (value instanceof Boolean) return tagged(BOOLEAN, (Boolean) value ? 1L : 0L);
+        if (value instanceof Timestamp) {
+            Timestamp timestamp = (Timestamp) value;
+            return tagged(TIME, Math.floorDiv(timestamp.getTime(), 1000L) * 1000000000L + timestamp.getNanos());
+        }
+        if (value instanceof Date) return tagged(TIME, ((Date) value).getTime() * 1000000L);
+        if (value instanceof byte[]) return bytes((byte[]) value);
+        return text(value.toString());
+    }
+
+    private static long decimal(BigDecimal value) {
+        if (value.scale() <= 0 && value.compareTo(BigDecimal.valueOf(Long.MIN_VALUE)) > 0
+            && value.compareTo(BigDecimal.valueOf(Long.MAX_VALUE)) < 0) {
+            return tagged(NUMBER, value.longValueExact());
+        }
+        return mix(bytes(value.unscaledValue().toByteArray()) * PRIME + value.scale());
+    }
+
+    private static long tagged(long tag, long value) {
+        return mix(value * PRIME + tag);
+    }
+
+    private static long text(String value) {
+        long h = TEXT;
+        for (int i = 0; i < value.length(); i++) {
+            h = (h ^ value.charAt(i)) * PRIME;
+        }
+        return mix(h ^ value.length());
+    }
+
+    private static long bytes(byte[] value) {
+        long h = BYTES;
+        for (byte b : value) {
+            h = (h ^ (b & 0xff)) * PRIME;
+        }
+        return mix(h ^ value.length);
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /**
+     * Returns the hash of the specified column.
+     *
+     * @param columnName the column name, case-insensitive
+     * @return the hash of the column
+     * @throws NoSuchColumnException if the table has no such column
+     */
+    public long getColumnHash(String columnName) throws NoSuchColumnException {
+        Long hash = columnHashes.get(columnName.toUpperCase(Locale.ENGLISH));
+        if (hash == null) throw new NoSuchColumnException(tableName, columnName);
+        return hash;
+    }
+
+    /**
+     * Returns the hashes of the columns by their upper-cased names, in the order of the names.
+     *
+     * @return the unmodifiable map of the column hashes
+     */
+    public Map<String, Long> getColumnHashes() {
+        return columnHashes;
+    }
+
+    /**
+     * Returns the hash of the whole table, covering the column names, the row count and the values.
+     *
+     * <p>Unlike the column hashes, this also reflects which values are in the same row.</p>
+     *
+     * @return the hash of the table
+     */
+    public long getTableHash() {
+        return tableHash;
+    }
+
+    /**
+     * Returns the number of the rows hashed.
+     *
+     * @return the row count
+     */
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Returns whether this fingerprint does not depend on the row order.
+     *
+     * @return {@code true} if this fingerprint does not depend on the row order
+     */
+    public boolean isOrderIndependent() {
+        return orderIndependent;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof TableFingerprint)) return false;
+        TableFingerprint other = (TableFingerprint) o;
+        return tableHash == other.tableHash && rowCount == other.rowCount
+            && orderIndependent == other.orderIndependent && columnHashes.equals(other.columnHashes);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(tableHash);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%016x", tableHash);
+    }
+
+}
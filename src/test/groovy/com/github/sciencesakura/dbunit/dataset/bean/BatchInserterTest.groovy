@@ -0,0 +1,133 @@
+/*
+ * The MIT License
+ * Copyright (c) 2018 sciencesakura
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.sciencesakura.dbunit.dataset.bean
+
+import groovy.sql.Sql
+import org.dbunit.dataset.Column
+import org.dbunit.dataset.DefaultTable
+import org.dbunit.dataset.DefaultTableMetaData
+import org.dbunit.dataset.datatype.DataType
+import org.junit.After
+import org.junit.Before
+import org.junit.Test
+
+import java.sql.Connection
+import java.sql.ParameterMetaData
+import java.sql.PreparedStatement
+import java.sql.SQLFeatureNotSupportedException
+import java.sql.Types
+
+import static org.hamcrest.Matchers.contains
+import static org.hamcrest.Matchers.is
+import static org.junit.Assert.assertThat
+
+class BatchInserterTest {
+
+    private Sql sql
+
+    @Before
+    void setUp() {
+        sql = Sql.newInstance('jdbc:h2:mem:batch_inserter_test', 'org.h2.Driver')
+        sql.execute('create table nested (id int primary key, address_city varchar(50))')
+        sql.execute('create table "fields" ("code" varchar(10), "count" int, "label" varchar(50))')
+    }
+
+    @After
+    void tearDown() {
+        sql.execute('drop table nested')
+        sql.execute('drop table "fields"')
+        sql.close()
+    }
+
+    @Test
+    void inserts_rows_in_batches() {
+        def beans = (0..<25).collect { i ->
+            new TestBeanNested(i, i % 3 == 0 ? null : new TestBeanNested.Address("city $i", null))
+        }
+        def table = new BeanTable.Builder(TestBeanNested, 'nested').naming(Naming.CAMEL_TO_SNAKE)
+            .exclude(TestBeanNested.Address)
+            .path('address.city')
+            .add(beans)
+            .build()
+        def sut = new BatchInserter.Builder().batchSize(10).build()
+        def inserted = sut.insert(sql.connection, table)
+        assertThat(inserted, is(25))
+        def rows = sql.rows('select id, address_city from nested order by id')
+        assertThat(rows.size(), is(25))
+        rows.each { row ->
+            assertThat(row.address_city as String, is(row.id % 3 == 0 ? null : "city ${row.id}" as String))
+        }
+    }
+
+    @Test
+    void inserts_all_tables_of_data_set() {
+        def dataSet = new BeanDataSet.Builder()
+            .add(new BeanTable.Builder(TestBeanNested, 'NESTED')
+                .naming(Naming.CAMEL_TO_SCREAMING_SNAKE)
+                .exclude(TestBeanNested.Address)
+                .add(new TestBeanNested(1, null), new TestBeanNested(2, null)))
+            .add(new BeanTable.Builder(TestBeanFields, 'fields')
+                .introspection(Introspection.FIELDS)
+                .add(new TestBeanFields('a', 1, 'label a')))
+            .build()
+        def sut = new BatchInserter.Builder().escapePattern('"?"').build()
+        def inserted = sut.insert(sql.connection, dataSet)
+        assertThat(inserted, is(3))
+        assertThat(sql.firstRow('select count(*) as n from nested').n as int, is(2))
+        assertThat(sql.firstRow('select "label" from "fields"').label as String, is('label a'))
+    }
+
+    @Test
+    void sets_null_of_unknown_column_with_parameter_type() {
+        def types = insertNulls { index -> index == 1 ? Types.INTEGER : Types.VARCHAR }
+        assertThat(types, contains(Types.INTEGER, Types.VARCHAR, Types.INTEGER, Types.VARCHAR))
+    }
+
+    @Test
+    void sets_null_of_unknown_column_as_null_type_if_parameter_type_is_unavailable() {
+        def types = insertNulls { index -> throw new SQLFeatureNotSupportedException() }
+        assertThat(types, contains(Types.NULL, Types.NULL, Types.NULL, Types.NULL))
+    }
+
+    private static List<Integer> insertNulls(Closure<Integer> parameterType) {
+        def table = new DefaultTable(new DefaultTableMetaData('nested', [
+            new Column('id', DataType.UNKNOWN),
+            new Column('address_city', DataType.UNKNOWN),
+        ] as Column[]))
+        table.addRow([null, null] as Object[])
+        table.addRow([null, null] as Object[])
+        def types = []
+        def metaData = [getParameterType: parameterType] as ParameterMetaData
+        def statement = [
+            getParameterMetaData: { metaData },
+            setNull: { int index, int type -> types << type },
+            addBatch: {},
+            executeBatch: { new int[0] },
+            close: {},
+        ] as PreparedStatement
+        def connection = [prepareStatement: { String sql -> statement }] as Connection
+        new BatchInserter.Builder().build().insert(connection, table)
+        return types
+    }
+
+}
@@ -0,0 +1,101 @@
+/*
+ * The MIT License
+ * Copyright (c) 2018 sciencesakura
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.sciencesakura.dbunit.dataset.bean
+
+import org.junit.Test
+
+import java.util.concurrent.Executors
+
+import static groovy.test.GroovyAssert.shouldFail
+import static org.hamcrest.Matchers.contains
+import static org.hamcrest.Matchers.is
+import static org.junit.Assert.assertThat
+
+class BeanDataSetTest {
+
+    @Test
+    void orders_tables_by_dependencies() {
+        def sut = new BeanDataSet.Builder()
+            .add(new BeanTable.Builder(TestBean, 'order_line'), 'orders', 'item')
+            .add(new BeanTable.Builder(TestBean, 'customer'))
+            .add(new BeanTable.Builder(TestBean, 'orders'), 'CUSTOMER')
+            .add(new BeanTable.Builder(TestBean, 'item'))
+            .build()
+        assertThat(sut.tableNames as List, contains('customer', 'orders', 'item', 'order_line'))
+    }
+
+    @Test
+    void builds_tables_on_executor() {
+        def executor = Executors.newFixedThreadPool(2)
+        try {
+            def builder = new BeanDataSet.Builder().executor(executor).snapshot()
+            (0..<10).each { i ->
+                builder.add(new BeanTable.Builder(TestBean, "table_$i").add(new TestBean(pInt: i)))
+            }
+            def sut = builder.build()
+            (0..<10).each { i ->
+                assertThat(sut.getTable("table_$i").getValue(0, 'pInt'), is(i))
+            }
+        } finally {
+            executor.shutdown()
+        }
+    }
+
+    @Test
+    void does_not_modify_table_builders() {
+        def bean = new TestBean(pInt: 1)
+        def table = new BeanTable.Builder(TestBean, 'a').add(bean)
+        def sut = new BeanDataSet.Builder().add(table).snapshot().build()
+        bean.pInt = 2
+        assertThat(sut.getTable('a').getValue(0, 'pInt'), is(1))
+        assertThat(table.build().getValue(0, 'pInt'), is(2))
+    }
+
+    @Test
+    void validates_dependencies_before_building() {
+        def executed = false
+        shouldFail(IllegalStateException) {
+            new BeanDataSet.Builder()
+                .executor { executed = true; it.run() }
+                .add(new BeanTable.Builder(TestBean, 'a'), 'b')
+                .build()
+        }
+        assertThat(executed, is(false))
+    }
+
+    @Test(expected = IllegalStateException)
+    void rejects_cyclic_dependencies() {
+        new BeanDataSet.Builder()
+            .add(new BeanTable.Builder(TestBean, 'a'), 'b')
+            .add(new BeanTable.Builder(TestBean, 'b'), 'a')
+            .build()
+    }
+
+    @Test(expected = IllegalStateException)
+    void rejects_unknown_dependencies() {
+        new BeanDataSet.Builder()
+            .add(new BeanTable.Builder(TestBean, 'a'), 'b')
+            .build()
+    }
+
+}
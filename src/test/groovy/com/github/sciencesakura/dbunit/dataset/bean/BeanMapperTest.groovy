@@ -0,0 +1,120 @@
+/*
+ * The MIT License
+ * Copyright (c) 2018 sciencesakura
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.sciencesakura.dbunit.dataset.bean
+
+import org.dbunit.dataset.Column
+import org.dbunit.dataset.DefaultTable
+import org.dbunit.dataset.DefaultTableMetaData
+import org.dbunit.dataset.IDataSet
+import org.dbunit.dataset.csv.CsvDataSet
+import org.dbunit.dataset.csv.CsvProducer
+import org.dbunit.dataset.datatype.DataType
+import org.dbunit.dataset.stream.StreamingDataSet
+import org.junit.Test
+
+import static org.dbunit.Assertion.assertEquals
+import static org.hamcrest.Matchers.is
+import static org.hamcrest.Matchers.nullValue
+import static org.junit.Assert.assertThat
+
+class BeanMapperTest {
+
+    private static final File expectedDataDir
+
+    private static final IDataSet expectedDataSet
+
+    static {
+        def expectedDataLocation = BeanTableTest.getResource("${BeanTableTest.simpleName}.csv")
+        expectedDataDir = new File(expectedDataLocation.toURI())
+        expectedDataSet = new CsvDataSet(expectedDataDir)
+    }
+
+    @Test
+    void maps_rows_to_beans() {
+        def expected = expectedDataSet.getTable('n_rows_table')
+        def beans = new BeanMapper.Builder(TestBean).naming(Naming.CAMEL_TO_SNAKE).build().toList(expected)
+        def actual = new BeanTable.Builder(TestBean).naming(Naming.CAMEL_TO_SNAKE).add(beans).build()
+        assertThat(beans.size(), is(expected.rowCount))
+        assertEquals(expected, actual)
+    }
+
+    @Test
+    void maps_rows_with_each_accessor_and_introspection() {
+        def expected = expectedDataSet.getTable('n_rows_table')
+        [Introspection.JAVA_BEANS, Introspection.GETTERS, Introspection.FIELDS].each { introspection ->
+            Accessor.values().each { accessor ->
+                def beans = new BeanMapper.Builder(TestBean).naming(Naming.CAMEL_TO_SNAKE)
+                    .introspection(introspection)
+                    .accessor(accessor)
+                    .build()
+                    .toList(expected)
+                def actual = new BeanTable.Builder(TestBean).naming(Naming.CAMEL_TO_SNAKE).add(beans).build()
+                assertEquals(expected, actual)
+            }
+        }
+    }
+
+    @Test
+    void binds_columns_ignoring_case() {
+        def table = new DefaultTable(new DefaultTableMetaData('t', [
+            new Column('P_INT', DataType.UNKNOWN),
+            new Column('String', DataType.UNKNOWN),
+            new Column('unknown', DataType.UNKNOWN)
+        ] as Column[]))
+        table.addRow(['12', 'string val', 'ignored'] as Object[])
+        table.addRow([null, null, null] as Object[])
+        def sut = new BeanMapper.Builder(TestBean).naming(Naming.CAMEL_TO_SNAKE).build()
+        def actual = sut.toList(table)
+        assertThat(actual[0].pInt, is(12))
+        assertThat(actual[0].string, is('string val'))
+        assertThat(actual[1].pInt, is(0))
+        assertThat(actual[1].string, is(nullValue()))
+    }
+
+    @Test
+    void maps_streaming_rows_as_read() {
+        def expected = expectedDataSet.getTable('n_rows_table')
+        def sut = new BeanMapper.Builder(TestBean).naming(Naming.CAMEL_TO_SNAKE).build()
+        def tables = new StreamingDataSet(new CsvProducer(expectedDataDir)).iterator()
+        def beans = []
+        while (tables.next()) {
+            if (tables.table.tableMetaData.tableName != 'n_rows_table') continue
+            sut.iterator(tables.table).each { beans << it }
+        }
+        def actual = new BeanTable.Builder(TestBean).naming(Naming.CAMEL_TO_SNAKE).add(beans).build()
+        assertEquals(expected, actual)
+    }
+
+    @Test
+    void maps_produced_rows_as_consumed() {
+        def expected = expectedDataSet.getTable('n_rows_table')
+        def sut = new BeanMapper.Builder(TestBean).naming(Naming.CAMEL_TO_SNAKE).build()
+        def beans = []
+        def producer = new CsvProducer(expectedDataDir)
+        producer.consumer = sut.consumer { beans << it }
+        producer.produce()
+        def actual = new BeanTable.Builder(TestBean).naming(Naming.CAMEL_TO_SNAKE).add(beans).build()
+        assertEquals(expected, actual)
+    }
+
+}
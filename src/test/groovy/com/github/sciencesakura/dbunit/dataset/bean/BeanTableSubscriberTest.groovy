@@ -0,0 +1,123 @@
+/*
+ * The MIT License
+ * Copyright (c) 2018 sciencesakura
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.sciencesakura.dbunit.dataset.bean
+
+import org.dbunit.dataset.IDataSet
+import org.dbunit.dataset.csv.CsvDataSet
+import org.junit.Test
+import org.reactivestreams.Publisher
+import org.reactivestreams.Subscriber
+import org.reactivestreams.Subscription
+
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.ExecutionException
+
+import static groovy.test.GroovyAssert.shouldFail
+import static org.dbunit.Assertion.assertEquals
+import static org.hamcrest.Matchers.is
+import static org.junit.Assert.assertThat
+
+class BeanTableSubscriberTest {
+
+    private static final IDataSet expectedDataSet
+
+    static {
+        def expectedDataLocation = BeanTableTest.getResource("${BeanTableTest.simpleName}.csv")
+        expectedDataSet = new CsvDataSet(new File(expectedDataLocation.toURI()))
+    }
+
+    @Test
+    void builds_table_from_published_beans() {
+        def expected = expectedDataSet.getTable('n_rows_table')
+        def beans = beans()
+        def requests = []
+        def sut = new BeanTableSubscriber(new BeanTable.Builder(TestBean).naming(Naming.CAMEL_TO_SNAKE), 2)
+        publisher(beans, requests).subscribe(sut)
+        assertEquals(expected, sut.table.toCompletableFuture().get())
+        assertThat(requests, is([2L, 1L, 1L, 1L, 1L, 1L]))
+    }
+
+    @Test
+    void takes_snapshot_while_consuming() {
+        def expected = expectedDataSet.getTable('n_rows_table')
+        def beans = beans()
+        def sut = new BeanTableSubscriber(new BeanTable.Builder(TestBean).naming(Naming.CAMEL_TO_SNAKE)
+            .add(beans[0])
+            .snapshot())
+        publisher(beans.drop(1), []).subscribe(sut)
+        def actual = sut.table.toCompletableFuture().get()
+        beans.each { it.string = 'changed' }
+        assertEquals(expected, actual)
+    }
+
+    @Test
+    void completes_exceptionally_on_error() {
+        def sut = new BeanTableSubscriber(new BeanTable.Builder(TestBean))
+        sut.onSubscribe([request: {}, cancel: {}] as Subscription)
+        sut.onError(new IllegalStateException('failed'))
+        def e = shouldFail(ExecutionException) { sut.table.toCompletableFuture().get() }
+        assertThat(e.cause.message, is('failed'))
+    }
+
+    @Test
+    void builds_table_once_beans_are_available() {
+        def expected = expectedDataSet.getTable('n_rows_table')
+        def pending = new CompletableFuture<List<TestBean>>()
+        def sut = new BeanTable.Builder(TestBean).naming(Naming.CAMEL_TO_SNAKE).buildAsync(pending)
+        assertThat(sut.toCompletableFuture().done, is(false))
+        pending.complete(beans())
+        assertEquals(expected, sut.toCompletableFuture().get())
+    }
+
+    private static Publisher<TestBean> publisher(List<TestBean> beans, List<Long> requests) {
+        return { Subscriber<TestBean> subscriber ->
+            def next = 0
+            def demand = 0L
+            def emitting = false
+            subscriber.onSubscribe([
+                request: { long n ->
+                    requests << n
+                    demand += n
+                    if (emitting) return
+                    emitting = true
+                    while (0 < demand && next < beans.size()) {
+                        demand--
+                        subscriber.onNext(beans[next++])
+                    }
+                    emitting = false
+                    if (next == beans.size()) {
+                        next++
+                        subscriber.onComplete()
+                    }
+                },
+                cancel : {}
+            ] as Subscription)
+        } as Publisher<TestBean>
+    }
+
+    private static List<TestBean> beans() {
+        return new BeanMapper.Builder(TestBean).naming(Naming.CAMEL_TO_SNAKE).build()
+            .toList(expectedDataSet.getTable('n_rows_table'))
+    }
+
+}
@@ -22,18 +22,24 @@
  */
 package com.github.sciencesakura.dbunit.dataset.bean
 
+import org.dbunit.dataset.DataSetException
 import org.dbunit.dataset.IDataSet
 import org.dbunit.dataset.ITable
 import org.dbunit.dataset.csv.CsvDataSet
 import org.junit.Test
 
+import java.lang.reflect.UndeclaredThrowableException
 import java.sql.Time
 import java.sql.Timestamp
 import java.text.SimpleDateFormat
+import java.util.concurrent.ForkJoinPool
 
+import static groovy.test.GroovyAssert.shouldFail
 import static org.dbunit.Assertion.assertEquals
 import static org.hamcrest.Matchers.allOf
 import static org.hamcrest.Matchers.hasItem
+import static org.hamcrest.Matchers.instanceOf
+import static org.hamcrest.Matchers.is
 import static org.hamcrest.Matchers.not
 import static org.junit.Assert.assertThat
 
@@ -97,6 +103,16 @@ class BeanTableTest {
         assertThat(actual, allOf(matchers))
     }
 
+    @Test
+    void reads_values_by_column_index() {
+        def bean = new TestBean(pInt: 32, string: 'string val')
+        def sut = new BeanTable.Builder(TestBean).naming(Naming.CAMEL_TO_SNAKE).add(bean).build()
+        def metaData = sut.tableMetaData
+        assertThat(sut.getValue(0, metaData.getColumnIndex('p_int')), is(32))
+        assertThat(sut.getValue(0, metaData.getColumnIndex('STRING')), is('string val'))
+        assertThat(sut.getValue(0, 'String'), is('string val'))
+    }
+
     @Test
     void assertion_of_zero_rows_table() {
         def expected = expectedDataSet.getTable('zero_rows_table')
@@ -116,6 +132,188 @@ class BeanTableTest {
         assertEquals(expected, actual)
     }
 
+    @Test
+    void assertion_of_wrapped_rows_table() {
+        def expected = expectedDataSet.getTable('n_rows_table')
+        def beans = tableToBeans(expected)
+        def wrapped = new BeanTable.Builder(TestBean).naming(Naming.CAMEL_TO_SNAKE)
+            .wrap(beans)
+            .build()
+        def mixed = new BeanTable.Builder(TestBean).naming(Naming.CAMEL_TO_SNAKE)
+            .wrap(beans[0..2])
+            .add(beans[3..4])
+            .build()
+        assertEquals(expected, wrapped)
+        assertEquals(expected, mixed)
+    }
+
+    @Test
+    void assertion_with_generated_adapter() {
+        def expected = expectedDataSet.getTable('n_rows_table')
+        def beans = tableToBeans(expected).collect { bean ->
+            def annotated = new TestBeanAnnotated()
+            beanProperties.values().each { annotated[it.name] = bean[it.name] }
+            return annotated
+        }
+        def actual = new BeanTable.Builder(TestBeanAnnotated).naming(Naming.CAMEL_TO_SNAKE)
+            .add(beans)
+            .build()
+        assertThat(BeanTableAdapters.find(TestBeanAnnotated), instanceOf(BeanTableAdapter))
+        assertEquals(expected, actual)
+    }
+
+    @Test
+    void wraps_checked_exception_thrown_via_generated_adapter() {
+        def sut = new BeanTable.Builder(TestBeanAnnotated.Unreadable).add(new TestBeanAnnotated.Unreadable()).build()
+        assertThat(BeanTableAdapters.find(TestBeanAnnotated.Unreadable), instanceOf(BeanTableAdapter))
+        def e = shouldFail(DataSetException) { sut.getValue(0, 'value') }
+        assertThat(e.cause, instanceOf(IOException))
+    }
+
+    @Test
+    void rethrows_unchecked_exception_thrown_via_generated_adapter() {
+        def sut = new BeanTable.Builder(TestBeanAnnotated.UndeclaredUnreadable)
+            .add(new TestBeanAnnotated.UndeclaredUnreadable())
+            .build()
+        def e = shouldFail(UndeclaredThrowableException) { sut.getValue(0, 'value') }
+        assertThat(e.stackTrace[0].className, is(TestBeanAnnotated.UndeclaredUnreadable.name))
+    }
+
+    @Test
+    void assertion_with_each_accessor() {
+        def expected = expectedDataSet.getTable('n_rows_table')
+        def beans = tableToBeans(expected)
+        Accessor.values().each { accessor ->
+            def actual = new BeanTable.Builder(TestBean).naming(Naming.CAMEL_TO_SNAKE)
+                .accessor(accessor)
+                .add(beans)
+                .build()
+            assertEquals(expected, actual)
+        }
+    }
+
+    @Test
+    void assertion_of_snapshot_table() {
+        def expected = expectedDataSet.getTable('n_rows_table')
+        def beans = tableToBeans(expected)
+        def actual = new BeanTable.Builder(TestBean).naming(Naming.CAMEL_TO_SNAKE)
+            .add(beans)
+            .snapshot()
+            .build()
+        beans.each {
+            it.pInt = 0
+            it.string = 'changed'
+            if (it.blob) it.blob[0] = 0 as byte
+        }
+        assertEquals(expected, actual)
+    }
+
+    @Test
+    void assertion_of_parallel_snapshot_table() {
+        def expected = expectedDataSet.getTable('n_rows_table')
+        def beans = tableToBeans(expected)
+        def pool = new ForkJoinPool(2)
+        try {
+            def actual = new BeanTable.Builder(TestBean).naming(Naming.CAMEL_TO_SNAKE)
+                .add(beans)
+                .snapshot()
+                .parallel(pool)
+                .build()
+            assertEquals(expected, actual)
+        } finally {
+            pool.shutdown()
+        }
+    }
+
+    @Test
+    void assertion_of_dictionary_encoded_table() {
+        def expected = expectedDataSet.getTable('n_rows_table')
+        def beans = tableToBeans(expected)
+        def actual = new BeanTable.Builder(TestBean).naming(Naming.CAMEL_TO_SNAKE)
+            .add(beans * 4)
+            .dictionary()
+            .build()
+        def plain = new BeanTable.Builder(TestBean).naming(Naming.CAMEL_TO_SNAKE)
+            .add(beans * 4)
+            .snapshot()
+            .build()
+        beans.each { it.string = 'changed' }
+        assertThat(actual.dictionary(actual.tableMetaData.getColumnIndex('string')).length, is(5))
+        assertEquals(expected, actual.slice(10, 15))
+        assertThat(TableFingerprint.of(actual, false), is(TableFingerprint.of(plain, false)))
+        assertThat(new TableComparator.Builder('p_long').build().compare(actual.slice(0, 5), plain.slice(15, 20))
+            .differences, is([]))
+    }
+
+    @Test
+    void streams_beans_forward_only() {
+        def expected = expectedDataSet.getTable('n_rows_table')
+        def beans = tableToBeans(expected)
+        def closed = false
+        def sut = new BeanTable.Builder(TestBean, 'n_rows_table').naming(Naming.CAMEL_TO_SNAKE)
+            .stream(beans.stream().onClose { closed = true })
+        def iterator = sut.iterator()
+        assertThat(iterator.next(), is(true))
+        def actual = iterator.table
+        def columns = actual.tableMetaData.columns
+        def rows = new BeanTable.Builder(TestBean).naming(Naming.CAMEL_TO_SNAKE).add(beans).build()
+        beans.indices.each { r ->
+            columns.each { c ->
+                assertThat(actual.getValue(r, c.columnName), is(rows.getValue(r, c.columnName)))
+            }
+        }
+        assertThat(iterator.next(), is(false))
+        assertThat(closed, is(true))
+    }
+
+    @Test
+    void assertion_of_row_views() {
+        def expected = expectedDataSet.getTable('n_rows_table')
+        def beans = tableToBeans(expected)
+        [false, true].each { snapshot ->
+            def builder = new BeanTable.Builder(TestBean).naming(Naming.CAMEL_TO_SNAKE).add(beans)
+            if (snapshot) builder.snapshot()
+            def sut = builder.build()
+            def filtered = beans.findAll { it.pInt >= 0 }
+            assertEquals(new BeanTable.Builder(TestBean).naming(Naming.CAMEL_TO_SNAKE).add(filtered).build(),
+                sut.where { it.pInt >= 0 })
+            assertEquals(new BeanTable.Builder(TestBean).naming(Naming.CAMEL_TO_SNAKE).add(beans[1..3]).build(),
+                sut.slice(1, 4))
+            assertEquals(new BeanTable.Builder(TestBean).naming(Naming.CAMEL_TO_SNAKE).add(filtered.drop(1)).build(),
+                sut.where { it.pInt >= 0 }.slice(1, filtered.size()))
+        }
+    }
+
+    @Test
+    void selects_columns_in_order() {
+        def beans = tableToBeans(expectedDataSet.getTable('n_rows_table'))
+        def table = new BeanTable.Builder(TestBean).naming(Naming.CAMEL_TO_SNAKE).add(beans).build()
+        def sut = table.select('STRING', 'p_int').slice(1, 3)
+        assertThat(sut.tableMetaData.columns.collect { it.columnName }, is(['string', 'p_int']))
+        assertThat(sut.rowCount, is(2))
+        assertThat(sut.getValue(0, 'string'), is(beans[1].string))
+        assertThat(sut.getValue(1, 1), is(beans[2].pInt))
+    }
+
+    @Test
+    void reads_union_of_columns_of_polymorphic_beans() {
+        def expected = expectedDataSet.getTable('n_rows_table')
+        def beans = tableToBeans(expected).withIndex().collect { bean, i ->
+            def typed = [new TestBean(), new TestBeanExtended(extendedField: "ext$i"), new TestBeanVariant(level: i)][i % 3]
+            beanProperties.values().each { typed[it.name] = bean[it.name] }
+            return typed
+        }
+        def sut = new BeanTable.Builder(TestBean).naming(Naming.CAMEL_TO_SNAKE)
+            .polymorphic()
+            .add(beans)
+            .build()
+        def columns = sut.tableMetaData.columns.collect { it.columnName }
+        assertThat(columns.takeRight(2), is(['extended_field', 'level']))
+        assertThat(beans.indices.collect { sut.getValue(it, 'extended_field') }, is([null, 'ext1', null, null, 'ext4']))
+        assertThat(beans.indices.collect { sut.getValue(it, 'level') }, is([null, null, 2, null, null]))
+        assertEquals(expected, sut.select(beanProperties.keySet() as String[]))
+    }
+
     private List<TestBean> tableToBeans(ITable table) {
         return (0..<table.rowCount).collect { r ->
             def bean = new TestBean()
@@ -0,0 +1,110 @@
+/*
+ * The MIT License
+ * Copyright (c) 2018 sciencesakura
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the 'Software'), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS', WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.sciencesakura.dbunit.dataset.bean
+
+import org.dbunit.dataset.datatype.DataType
+import org.junit.After
+import org.junit.Test
+
+import java.sql.Time
+import java.sql.Timestamp
+import java.time.Instant
+import java.time.LocalDate
+import java.time.LocalDateTime
+import java.time.LocalTime
+import java.time.OffsetTime
+import java.time.ZoneOffset
+import java.util.concurrent.TimeUnit
+
+import static org.hamcrest.Matchers.is
+import static org.junit.Assert.assertThat
+
+class DataTypeMappingsTest {
+
+    @After
+    void tearDown() {
+        DataTypeMappings.reset()
+    }
+
+    @Test
+    void resolves_numeric_types() {
+        assertThat(DataTypeMappings.resolve(byte), is(DataType.TINYINT))
+        assertThat(DataTypeMappings.resolve(Short), is(DataType.SMALLINT))
+        assertThat(DataTypeMappings.resolve(int), is(DataType.INTEGER))
+        assertThat(DataTypeMappings.resolve(Long), is(DataType.BIGINT))
+        assertThat(DataTypeMappings.resolve(BigInteger), is(DataType.BIGINT))
+        assertThat(DataTypeMappings.resolve(float), is(DataType.REAL))
+        assertThat(DataTypeMappings.resolve(Double), is(DataType.DOUBLE))
+        assertThat(DataTypeMappings.resolve(BigDecimal), is(DataType.DECIMAL))
+    }
+
+    @Test
+    void resolves_by_superclass() {
+        assertThat(DataTypeMappings.resolve(TimeUnit), is(DataType.VARCHAR))
+        assertThat(DataTypeMappings.resolve(TimeUnit.SECONDS.getClass()), is(DataType.VARCHAR))
+        assertThat(DataTypeMappings.resolve(Object), is(DataType.UNKNOWN))
+    }
+
+    @Test
+    void converts_property_values() {
+        def bean = new TestBeanTyped(pChar: 'a' as char, wChar: 'b' as char, unit: TimeUnit.SECONDS,
+            localDate: LocalDate.of(2000, 1, 2), localTime: LocalTime.of(1, 2, 3),
+            localDateTime: LocalDateTime.of(2000, 1, 2, 3, 4, 5), instant: Instant.ofEpochMilli(1000))
+        def sut = new BeanTable.Builder(TestBeanTyped).naming(Naming.CAMEL_TO_SNAKE).add(bean).build()
+        assertThat(sut.getValue(0, 'p_char'), is('a'))
+        assertThat(sut.getValue(0, 'w_char'), is('b'))
+        assertThat(sut.getValue(0, 'unit'), is('SECONDS'))
+        assertThat(sut.getValue(0, 'local_date'), is(java.sql.Date.valueOf('2000-01-02')))
+        assertThat(sut.getValue(0, 'local_time'), is(Time.valueOf('01:02:03')))
+        assertThat(sut.getValue(0, 'local_date_time'), is(Timestamp.valueOf('2000-01-02 03:04:05')))
+        assertThat(sut.getValue(0, 'instant'), is(new Timestamp(1000)))
+    }
+
+    @Test
+    void registers_custom_mapping() {
+        DataTypeMappings.register(TimeUnit, DataType.INTEGER, { TimeUnit unit -> unit.ordinal() })
+        def sut = new BeanTable.Builder(TestBeanTyped).add(new TestBeanTyped(unit: TimeUnit.SECONDS)).build()
+        def column = sut.tableMetaData.columns.find { it.columnName == 'unit' }
+        assertThat(column.dataType, is(DataType.INTEGER))
+        assertThat(sut.getValue(0, 'unit'), is(TimeUnit.SECONDS.ordinal()))
+    }
+
+    @Test
+    void snapshots_values_converted_from_primitive_type() {
+        DataTypeMappings.register(int, DataType.VARCHAR, { int value -> "n$value" as String })
+        def sut = new BeanTable.Builder(TestBean).naming(Naming.CAMEL_TO_SNAKE).add(new TestBean(pInt: 3))
+            .snapshot().build()
+        def column = sut.tableMetaData.columns.find { it.columnName == 'p_int' }
+        assertThat(column.dataType, is(DataType.VARCHAR))
+        assertThat(sut.getValue(0, 'p_int'), is('n3'))
+    }
+
+    @Test
+    void reads_offset_time_at_utc() {
+        def mapping = DataTypeMappings.lookup(OffsetTime)
+        def value = mapping.convert(OffsetTime.of(1, 2, 3, 0, ZoneOffset.ofHours(9)))
+        assertThat(value, is(Time.valueOf('01:02:03')))
+        assertThat(mapping.reverse(value), is(OffsetTime.of(1, 2, 3, 0, ZoneOffset.UTC)))
+    }
+
+}
@@ -0,0 +1,115 @@
+/*
+ * The MIT License
+ * Copyright (c) 2018 sciencesakura
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.sciencesakura.dbunit.dataset.bean
+
+import org.dbunit.dataset.IDataSet
+import org.dbunit.dataset.csv.CsvDataSet
+import org.junit.Rule
+import org.junit.Test
+import org.junit.rules.TemporaryFolder
+
+import static groovy.test.GroovyAssert.shouldFail
+import static org.hamcrest.Matchers.containsString
+import static org.junit.Assert.assertThat
+
+class FingerprintCacheTest {
+
+    private static final IDataSet expectedDataSet
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder()
+
+    static {
+        def expectedDataLocation = BeanTableTest.getResource("${BeanTableTest.simpleName}.csv")
+        expectedDataSet = new CsvDataSet(new File(expectedDataLocation.toURI()))
+    }
+
+    @Test
+    void stores_fingerprint_of_expected_table() {
+        def file = new File(temporaryFolder.root, 'fingerprints.properties').toPath()
+        def expected = expectedDataSet.getTable('n_rows_table')
+        def actual = beanTable(beans())
+        new FingerprintCache.Builder(file).build().assertEquals('n_rows_table', 1L, expected, actual)
+        def properties = new Properties()
+        file.withInputStream { properties.load(it) }
+        def fingerprint = TableFingerprint.of(actual, false)
+        assertThat(properties.getProperty('n_rows_table'), containsString(fingerprint.toString()))
+    }
+
+    @Test
+    void falls_back_to_assertion_on_mismatch() {
+        def file = new File(temporaryFolder.root, 'fingerprints.properties').toPath()
+        def expected = expectedDataSet.getTable('n_rows_table')
+        def beans = beans()
+        beans[1].string = 'changed'
+        def failure = shouldFail {
+            new FingerprintCache.Builder(file).build().assertEquals('n_rows_table', 1L, expected, beanTable(beans))
+        }
+        assertThat(failure.message, containsString('changed'))
+    }
+
+    @Test
+    void trusts_cached_fingerprint_until_version_changes() {
+        def file = new File(temporaryFolder.root, 'fingerprints.properties').toPath()
+        def actual = beanTable(beans())
+        def beans = beans()
+        new FingerprintCache.Builder(file).build().assertEquals('fixture', 1L, beanTable(beans), actual)
+        beans[1].string = 'changed'
+        def changed = beanTable(beans)
+        new FingerprintCache.Builder(file).build().assertEquals('fixture', 1L, changed, actual)
+        shouldFail {
+            new FingerprintCache.Builder(file).build().assertEquals('fixture', 2L, changed, actual)
+        }
+    }
+
+    @Test
+    void recomputes_cached_fingerprint_if_actual_columns_change() {
+        def file = new File(temporaryFolder.root, 'fingerprints.properties').toPath()
+        def actual = beanTable(beans())
+        new FingerprintCache.Builder(file).build().assertEquals('fixture', 1L, beanTable(beans()), actual)
+        def selected = actual.select('p_int', 'string')
+        new FingerprintCache.Builder(file).build()
+            .assertEquals('fixture', 1L, beanTable(beans()).select('p_int', 'string'), selected)
+        def properties = new Properties()
+        file.withInputStream { properties.load(it) }
+        assertThat(properties.getProperty('fixture'), containsString(TableFingerprint.of(selected, false).toString()))
+    }
+
+    @Test
+    void ignores_row_order_if_order_independent() {
+        def file = new File(temporaryFolder.root, 'fingerprints.properties').toPath()
+        def expected = expectedDataSet.getTable('n_rows_table')
+        def actual = beanTable(beans().reverse())
+        new FingerprintCache.Builder(file).orderIndependent().build().assertEquals('n_rows_table', 1L, expected, actual)
+    }
+
+    private static List<TestBean> beans() {
+        return new BeanMapper.Builder(TestBean).naming(Naming.CAMEL_TO_SNAKE).build()
+            .toList(expectedDataSet.getTable('n_rows_table'))
+    }
+
+    private static BeanTable<TestBean> beanTable(List<TestBean> beans) {
+        return new BeanTable.Builder(TestBean, 'n_rows_table').naming(Naming.CAMEL_TO_SNAKE).add(beans).build()
+    }
+
+}
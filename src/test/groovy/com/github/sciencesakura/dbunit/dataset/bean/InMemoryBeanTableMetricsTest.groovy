@@ -0,0 +1,102 @@
+/*
+ * The MIT License
+ * Copyright (c) 2018 sciencesakura
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.sciencesakura.dbunit.dataset.bean
+
+import org.junit.Before
+import org.junit.Test
+
+import static org.hamcrest.Matchers.greaterThan
+import static org.hamcrest.Matchers.instanceOf
+import static org.hamcrest.Matchers.is
+import static org.hamcrest.Matchers.sameInstance
+import static org.junit.Assert.assertThat
+import static org.junit.Assert.fail
+
+class InMemoryBeanTableMetricsTest {
+
+    @Before
+    void setUp() {
+        MetaDataCache.clear()
+    }
+
+    @Test
+    void records_introspection_only_on_cache_miss() {
+        def sut = new InMemoryBeanTableMetrics()
+        new BeanTable.Builder(TestBean).metrics(sut).build()
+        new BeanTable.Builder(TestBean).metrics(sut).build()
+        assertThat(sut.introspectionCount, is(1L))
+        assertThat(sut.introspectionNanos, greaterThan(0L))
+    }
+
+    @Test
+    void records_columns_and_rows() {
+        def sut = new InMemoryBeanTableMetrics()
+        def table = new BeanTable.Builder(TestBean, 'beans').metrics(sut)
+            .add(new TestBean(), new TestBean(), new TestBean())
+            .build()
+        assertThat(sut.getBuildCount('beans'), is(1L))
+        assertThat(sut.getColumnCount('beans'), is(table.tableMetaData.columns.length))
+        assertThat(sut.getRowCount('beans'), is(3L))
+        assertThat(sut.getBuildCount('other'), is(0L))
+    }
+
+    @Test
+    void records_reads_per_column() {
+        def sut = new InMemoryBeanTableMetrics()
+        def table = new BeanTable.Builder(TestBean, 'beans').naming(Naming.CAMEL_TO_SNAKE).metrics(sut)
+            .add(new TestBean(pInt: 1), new TestBean(pInt: 2))
+            .build()
+        table.getValue(0, 'p_int')
+        table.getValue(1, 'p_int')
+        table.getValue(1, 'string')
+        assertThat(sut.getReadCount('beans', 'p_int'), is(2L))
+        assertThat(sut.getReadCount('beans', 'string'), is(1L))
+        assertThat(sut.getReadCount('beans', 'date'), is(0L))
+        assertThat(sut.getFailureCount('beans', 'p_int'), is(0L))
+    }
+
+    @Test
+    void records_failures() {
+        def sut = new InMemoryBeanTableMetrics()
+        def table = new BeanTable.Builder(TestBeanFailing, 'beans').metrics(sut)
+            .add(new TestBeanFailing())
+            .build()
+        try {
+            table.getValue(0, 'value')
+            fail()
+        } catch (IllegalStateException ignored) {
+        }
+        assertThat(sut.getFailureCount('beans', 'value'), is(1L))
+        assertThat(sut.getReadCount('beans', 'value'), is(0L))
+    }
+
+    @Test
+    void does_not_instrument_without_listener() {
+        def first = new BeanTable.Builder(TestBean).build()
+        def second = new BeanTable.Builder(TestBean).build()
+        def metered = new BeanTable.Builder(TestBean).metrics(new InMemoryBeanTableMetrics()).build()
+        assertThat(second.tableMetaData.beanColumns, sameInstance(first.tableMetaData.beanColumns))
+        assertThat(metered.tableMetaData.beanColumns.get(0), instanceOf(MeteredBeanColumn))
+    }
+
+}
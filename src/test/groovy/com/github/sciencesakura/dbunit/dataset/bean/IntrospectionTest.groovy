@@ -0,0 +1,109 @@
+/*
+ * The MIT License
+ * Copyright (c) 2018 sciencesakura
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.sciencesakura.dbunit.dataset.bean
+
+import org.dbunit.DatabaseUnitRuntimeException
+import org.junit.Rule
+import org.junit.Test
+import org.junit.rules.TemporaryFolder
+
+import javax.tools.ToolProvider
+
+import static org.hamcrest.Matchers.contains
+import static org.hamcrest.Matchers.is
+import static org.junit.Assert.assertThat
+import static org.junit.Assume.assumeTrue
+
+class IntrospectionTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder()
+
+    @Test
+    void finds_same_getters_as_java_beans() {
+        [[TestBean, Object], [TestBeanExtended, Object], [TestBeanExtended, TestBean], [TestBeanTyped, Object]]
+            .each { type, base ->
+                def expected = new BeanTable.Builder(type).base(base).build()
+                def actual = new BeanTable.Builder(type).base(base).introspection(Introspection.GETTERS).build()
+                assertThat(columnsOf(actual), is(columnsOf(expected)))
+            }
+    }
+
+    @Test
+    void reads_fields_without_getters() {
+        Accessor.values().each { accessor ->
+            def sut = new BeanTable.Builder(TestBeanFields).introspection(Introspection.FIELDS)
+                .accessor(accessor)
+                .add(new TestBeanFields('c1', 3, 'label val'))
+                .build()
+            def columns = sut.tableMetaData.columns.collect { it.columnName }
+            assertThat(columns, contains('code', 'count', 'label'))
+            assertThat(sut.getValue(0, 'code'), is('c1'))
+            assertThat(sut.getValue(0, 'count'), is(3))
+            assertThat(sut.getValue(0, 'label'), is('label val'))
+        }
+    }
+
+    @Test
+    void reads_fields_below_base_class() {
+        def sut = new BeanTable.Builder(TestBeanFields).introspection(Introspection.FIELDS)
+            .base(TestBeanFieldsBase)
+            .build()
+        def columns = sut.tableMetaData.columns.collect { it.columnName }
+        assertThat(columns, contains('count', 'label'))
+    }
+
+    @Test
+    void reads_record_components() {
+        // records cannot be compiled with the sources of this project, so a record is compiled on Java 16 or later
+        assumeTrue(Class.methods.any { it.name == 'isRecord' })
+        def compiler = ToolProvider.systemJavaCompiler
+        assumeTrue(compiler != null)
+        def dir = temporaryFolder.root
+        new File(dir, 'TestRecord.java').text = 'public record TestRecord(String code, int count, String label) {}'
+        assertThat(compiler.run(null, null, null, '-d', dir.path, new File(dir, 'TestRecord.java').path), is(0))
+        def type = new URLClassLoader([dir.toURI().toURL()] as URL[], getClass().classLoader).loadClass('TestRecord')
+        def record = type.getConstructor(String, int, String).newInstance('c1', 3, 'label val')
+        Accessor.values().each { accessor ->
+            def sut = new BeanTable.Builder(type).introspection(Introspection.RECORD_COMPONENTS)
+                .accessor(accessor)
+                .add(record)
+                .build()
+            def columns = sut.tableMetaData.columns.collect { it.columnName }
+            assertThat(columns, contains('code', 'count', 'label'))
+            assertThat(sut.getValue(0, 'code'), is('c1'))
+            assertThat(sut.getValue(0, 'count'), is(3))
+            assertThat(sut.getValue(0, 'label'), is('label val'))
+        }
+    }
+
+    @Test(expected = DatabaseUnitRuntimeException)
+    void rejects_non_record_class() {
+        new BeanTable.Builder(TestBean).introspection(Introspection.RECORD_COMPONENTS).build()
+    }
+
+    private static List<String> columnsOf(BeanTable table) {
+        return table.tableMetaData.columns.collect { "${it.columnName}:${it.dataType}" as String }
+    }
+
+}
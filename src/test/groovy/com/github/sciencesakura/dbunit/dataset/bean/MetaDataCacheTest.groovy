@@ -0,0 +1,111 @@
+/*
+ * The MIT License
+ * Copyright (c) 2018 sciencesakura
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the 'Software'), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS', WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.sciencesakura.dbunit.dataset.bean
+
+import org.junit.After
+import org.junit.Before
+import org.junit.Test
+
+import static org.hamcrest.Matchers.is
+import static org.hamcrest.Matchers.not
+import static org.hamcrest.Matchers.sameInstance
+import static org.junit.Assert.assertThat
+
+class MetaDataCacheTest {
+
+    @Before
+    void setUp() {
+        MetaDataCache.clear()
+    }
+
+    @After
+    void tearDown() {
+        MetaDataCache.maximumSize = MetaDataCache.DEFAULT_MAXIMUM_SIZE
+        MetaDataCache.clear()
+    }
+
+    @Test
+    void reuses_columns_of_same_options() {
+        def hits = MetaDataCache.hitCount
+        def misses = MetaDataCache.missCount
+        def first = new BeanTable.Builder(TestBean).naming(Naming.CAMEL_TO_SNAKE).build()
+        def second = new BeanTable.Builder(TestBean, 'other').naming(Naming.CAMEL_TO_SNAKE).build()
+        assertThat(MetaDataCache.missCount - misses, is(1L))
+        assertThat(MetaDataCache.hitCount - hits, is(1L))
+        assertThat(second.tableMetaData.columns[0], sameInstance(first.tableMetaData.columns[0]))
+        assertThat(second.tableMetaData.tableName, is('other'))
+    }
+
+    @Test
+    void reuses_write_accessors_of_same_options() {
+        def hits = MetaDataCache.hitCount
+        def misses = MetaDataCache.missCount
+        new BeanMapper.Builder(TestBean).naming(Naming.CAMEL_TO_SNAKE).build()
+        new BeanMapper.Builder(TestBean).naming(Naming.CAMEL_TO_SNAKE).build()
+        new BeanMapper.Builder(TestBean).naming(Naming.RAW).build()
+        new BeanTable.Builder(TestBean).naming(Naming.CAMEL_TO_SNAKE).build()
+        assertThat(MetaDataCache.missCount - misses, is(3L))
+        assertThat(MetaDataCache.hitCount - hits, is(1L))
+        assertThat(MetaDataCache.size(), is(3))
+    }
+
+    @Test
+    void distinguishes_columns_of_different_options() {
+        def misses = MetaDataCache.missCount
+        new BeanTable.Builder(TestBean).naming(Naming.CAMEL_TO_SNAKE).build()
+        new BeanTable.Builder(TestBean).naming(Naming.CAMEL_TO_SNAKE).exclude('date').build()
+        new BeanTable.Builder(TestBean).naming(Naming.CAMEL_TO_SNAKE).exclude(Date).build()
+        new BeanTable.Builder(TestBean).naming(Naming.RAW).build()
+        new BeanTable.Builder(TestBeanExtended).naming(Naming.CAMEL_TO_SNAKE).build()
+        new BeanTable.Builder(TestBeanExtended).naming(Naming.CAMEL_TO_SNAKE).base(TestBean).build()
+        new BeanTable.Builder(TestBean).naming(Naming.CAMEL_TO_SNAKE).introspection(Introspection.FIELDS).build()
+        assertThat(MetaDataCache.missCount - misses, is(7L))
+        assertThat(MetaDataCache.size(), is(7))
+    }
+
+    @Test
+    void evicts_least_recently_used_entries() {
+        MetaDataCache.maximumSize = 2
+        def evictions = MetaDataCache.evictionCount
+        def first = new BeanTable.Builder(TestBean).naming(Naming.RAW).build()
+        new BeanTable.Builder(TestBean).naming(Naming.CAMEL_TO_SNAKE).build()
+        new BeanTable.Builder(TestBean).naming(Naming.RAW).build()
+        new BeanTable.Builder(TestBean).naming(Naming.CAMEL_TO_SCREAMING_SNAKE).build()
+        def hits = MetaDataCache.hitCount
+        def again = new BeanTable.Builder(TestBean).naming(Naming.RAW).build()
+        assertThat(MetaDataCache.evictionCount - evictions, is(1L))
+        assertThat(MetaDataCache.size(), is(2))
+        assertThat(MetaDataCache.hitCount - hits, is(1L))
+        assertThat(again.tableMetaData.columns[0], sameInstance(first.tableMetaData.columns[0]))
+    }
+
+    @Test
+    void does_not_cache_if_maximum_size_is_zero() {
+        MetaDataCache.maximumSize = 0
+        def first = new BeanTable.Builder(TestBean).build()
+        def second = new BeanTable.Builder(TestBean).build()
+        assertThat(MetaDataCache.size(), is(0))
+        assertThat(second.tableMetaData.columns[0], not(sameInstance(first.tableMetaData.columns[0])))
+    }
+
+}
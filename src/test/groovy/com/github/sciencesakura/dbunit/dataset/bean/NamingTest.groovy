@@ -24,7 +24,9 @@ package com.github.sciencesakura.dbunit.dataset.bean
 
 import org.junit.Test
 
+import static org.hamcrest.Matchers.hasItem
 import static org.hamcrest.Matchers.is
+import static org.hamcrest.Matchers.sameInstance
 import static org.junit.Assert.assertThat
 
 class NamingTest {
@@ -47,4 +49,39 @@ class NamingTest {
         assertThat(actual, is('AAA_BBB_CCC'))
     }
 
+    @Test
+    void resolve_acronyms_as_words() {
+        assertThat(Naming.CAMEL_TO_SNAKE.resolve('URLValue'), is('url_value'))
+        assertThat(Naming.CAMEL_TO_SNAKE.resolve('getURL'), is('get_url'))
+        assertThat(Naming.CAMEL_TO_SCREAMING_SNAKE.resolve('URLValue'), is('URL_VALUE'))
+    }
+
+    @Test
+    void memoizes_resolved_names() {
+        def first = Naming.CAMEL_TO_SNAKE.resolve('memoizedName')
+        def second = Naming.CAMEL_TO_SNAKE.resolve('memoizedName')
+        assertThat(second, sameInstance(first))
+    }
+
+    @Test
+    void resolve_name_with_prefix() {
+        def sut = NamingStrategy.prefixed('m_', Naming.CAMEL_TO_SNAKE)
+        assertThat(sut.resolve('aaaBbbCcc'), is('m_aaa_bbb_ccc'))
+        assertThat(sut, is(NamingStrategy.prefixed('m_', Naming.CAMEL_TO_SNAKE)))
+    }
+
+    @Test
+    void resolve_path_with_prefix() {
+        assertThat(Naming.CAMEL_TO_SNAKE.resolvePath('homeAddress', 'zipCode'), is('home_address_zip_code'))
+        def sut = NamingStrategy.prefixed('m_', Naming.CAMEL_TO_SNAKE)
+        assertThat(sut.resolvePath('homeAddress', 'zipCode'), is('m_home_address_zip_code'))
+    }
+
+    @Test
+    void resolve_name_with_custom_strategy() {
+        def table = new BeanTable.Builder(TestBean).naming({ it.toUpperCase() } as NamingStrategy).build()
+        def actual = table.tableMetaData.columns.collect { it.columnName }
+        assertThat(actual, hasItem('PINT'))
+    }
+
 }
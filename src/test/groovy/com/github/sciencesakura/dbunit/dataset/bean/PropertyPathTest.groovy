@@ -0,0 +1,109 @@
+/*
+ * The MIT License
+ * Copyright (c) 2018 sciencesakura
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.sciencesakura.dbunit.dataset.bean
+
+import org.dbunit.DatabaseUnitRuntimeException
+import org.junit.Test
+
+import static org.hamcrest.Matchers.contains
+import static org.hamcrest.Matchers.containsInAnyOrder
+import static org.hamcrest.Matchers.is
+import static org.hamcrest.Matchers.nullValue
+import static org.hamcrest.Matchers.sameInstance
+import static org.junit.Assert.assertThat
+
+class PropertyPathTest {
+
+    private static final def beans = [
+        new TestBeanNested(1, new TestBeanNested.Address('Tokyo', new TestBeanNested.Location(35.6))),
+        new TestBeanNested(2, new TestBeanNested.Address('Nowhere', null)),
+        new TestBeanNested(3, null),
+    ]
+
+    @Test
+    void reads_explicit_paths() {
+        Accessor.values().each { accessor ->
+            def sut = new BeanTable.Builder(TestBeanNested).naming(Naming.CAMEL_TO_SNAKE)
+                .accessor(accessor)
+                .exclude(TestBeanNested.Address)
+                .path('address.city', 'address.location.latitude')
+                .add(beans)
+                .build()
+            def columns = sut.tableMetaData.columns.collect { it.columnName }
+            assertThat(columns, contains('id', 'address_city', 'address_location_latitude'))
+            assertThat(sut.getValue(0, 'address_location_latitude'), is(35.6d))
+            assertThat(sut.getValue(1, 'address_city'), is('Nowhere'))
+            assertThat(sut.getValue(1, 'address_location_latitude'), is(nullValue()))
+            assertThat(sut.getValue(2, 'address_city'), is(nullValue()))
+        }
+    }
+
+    @Test
+    void flattens_nested_properties() {
+        def sut = new BeanTable.Builder(TestBeanNested).naming(Naming.CAMEL_TO_SNAKE)
+            .flatten(2)
+            .add(beans)
+            .snapshot()
+            .build()
+        def columns = sut.tableMetaData.columns.collect { it.columnName }
+        assertThat(columns, containsInAnyOrder('id', 'address_city', 'address_location_latitude'))
+        assertThat(sut.getValue(0, 'address_location_latitude'), is(35.6d))
+        assertThat(sut.getValue(2, 'address_location_latitude'), is(nullValue()))
+    }
+
+    @Test
+    void maps_nested_pojo_without_properties_as_column() {
+        def tag = new TestBeanNested.Tag()
+        def sut = new BeanTable.Builder(TestBeanNested.Tagged)
+            .flatten(1)
+            .add(new TestBeanNested.Tagged(tag))
+            .build()
+        def columns = sut.tableMetaData.columns.collect { it.columnName }
+        assertThat(columns, contains('tag'))
+        assertThat(sut.getValue(0, 'tag'), is(sameInstance(tag)))
+    }
+
+    @Test
+    void maps_nested_non_record_as_column_under_record_components() {
+        def property = new Property('address', TestBeanNested.Address, TestBeanNested.getMethod('getAddress'))
+        def paths = PropertyPath.flatten(property, 1, Introspection.RECORD_COMPONENTS)
+        assertThat(paths.size(), is(1))
+        assertThat(paths[0] as List, contains(property))
+    }
+
+    @Test
+    void prepends_prefix_once() {
+        def sut = new BeanTable.Builder(TestBeanNested)
+            .naming(NamingStrategy.prefixed('m_', Naming.CAMEL_TO_SNAKE))
+            .flatten(1)
+            .build()
+        def columns = sut.tableMetaData.columns.collect { it.columnName }
+        assertThat(columns, containsInAnyOrder('m_id', 'm_address_city', 'm_address_location'))
+    }
+
+    @Test(expected = DatabaseUnitRuntimeException)
+    void rejects_unknown_path() {
+        new BeanTable.Builder(TestBeanNested).path('address.zip').build()
+    }
+
+}
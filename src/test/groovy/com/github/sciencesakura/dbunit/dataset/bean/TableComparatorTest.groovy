@@ -0,0 +1,137 @@
+/*
+ * The MIT License
+ * Copyright (c) 2018 sciencesakura
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.sciencesakura.dbunit.dataset.bean
+
+import org.dbunit.dataset.Column
+import org.dbunit.dataset.DefaultTable
+import org.dbunit.dataset.DefaultTableMetaData
+import org.dbunit.dataset.NoSuchColumnException
+import org.dbunit.dataset.datatype.DataType
+import org.junit.Test
+
+import java.util.concurrent.ForkJoinPool
+
+import static org.hamcrest.Matchers.contains
+import static org.hamcrest.Matchers.hasSize
+import static org.hamcrest.Matchers.is
+import static org.junit.Assert.assertThat
+
+class TableComparatorTest {
+
+    private static final def metaData = new DefaultTableMetaData('test_bean', [
+        new Column('p_int', DataType.UNKNOWN),
+        new Column('string', DataType.UNKNOWN),
+        new Column('big_decimal', DataType.UNKNOWN),
+    ] as Column[])
+
+    @Test
+    void matches_rows_in_any_order() {
+        def expected = table(['3', 'c', '3.0'], ['1', 'a', '1.00'], ['2', 'b', '2'])
+        def actual = beans(1, 2, 3)
+        def sut = new TableComparator.Builder('p_int').build()
+        def diff = sut.compare(expected, actual)
+        assertThat(diff.empty, is(true))
+        assertThat(diff.truncated, is(false))
+    }
+
+    @Test
+    void reports_differences() {
+        def expected = table(['3', 'c', '3'], ['2', 'x', '2'], ['9', 'z', '9'])
+        def actual = beans(1, 2, 3)
+        def sut = new TableComparator.Builder('P_INT').build()
+        def diff = sut.compare(expected, actual)
+        assertThat(diff.differences.collect { it.kind }, contains(
+            TableDiff.Kind.VALUE_MISMATCH,
+            TableDiff.Kind.MISSING_ROW,
+            TableDiff.Kind.UNEXPECTED_ROW
+        ))
+        def mismatch = diff.differences[0]
+        assertThat(mismatch.key, contains('2'))
+        assertThat(mismatch.columnName, is('string'))
+        assertThat(mismatch.expectedValue, is('x'))
+        assertThat(mismatch.actualValue, is('b'))
+        assertThat(diff.differences[2].key, contains(1))
+        assertThat(diff.differences[2].actualRow, is(0))
+    }
+
+    @Test
+    void reports_duplicate_keys() {
+        def expected = table(['1', 'a', '1'], ['1', 'a', '1'])
+        def actual = beans(1, 1)
+        def sut = new TableComparator.Builder('p_int').build()
+        def diff = sut.compare(expected, actual)
+        assertThat(diff.differences.collect { it.kind }, contains(
+            TableDiff.Kind.DUPLICATE_KEY,
+            TableDiff.Kind.DUPLICATE_KEY
+        ))
+        assertThat(diff.differences.collect { it.actualRow }, contains(1, 0))
+    }
+
+    @Test
+    void stops_at_max_differences() {
+        def expected = table(['7', 'a', '1'], ['8', 'b', '2'], ['9', 'c', '3'])
+        def actual = beans(1, 2, 3)
+        def sut = new TableComparator.Builder('p_int').maxDifferences(2).build()
+        def diff = sut.compare(expected, actual)
+        assertThat(diff.differences, hasSize(2))
+        assertThat(diff.truncated, is(true))
+    }
+
+    @Test
+    void compares_in_parallel_as_sequentially() {
+        def keys = (1..10000).toList()
+        Collections.shuffle(keys, new Random(0))
+        def expected = table(*keys.collect { k -> [k as String, k % 7 == 0 ? 'x' : String.valueOf((char) (96 + k)), k as String] })
+        def actual = beans(*(1..10003))
+        def pool = new ForkJoinPool(4)
+        try {
+            [Integer.MAX_VALUE, 100, 1].each { max ->
+                def sequential = new TableComparator.Builder('p_int').maxDifferences(max).build()
+                def parallel = new TableComparator.Builder('p_int').maxDifferences(max).parallel(pool).build()
+                assertThat(parallel.compare(expected, actual).toString(), is(sequential.compare(expected, actual).toString()))
+            }
+        } finally {
+            pool.shutdown()
+        }
+    }
+
+    @Test(expected = NoSuchColumnException)
+    void rejects_unknown_key_column() {
+        new TableComparator.Builder('unknown').build().compare(table(), beans())
+    }
+
+    private static DefaultTable table(List<String>... rows) {
+        def table = new DefaultTable(metaData)
+        rows.each { table.addRow(it as Object[]) }
+        return table
+    }
+
+    private static BeanTable beans(int... keys) {
+        def builder = new BeanTable.Builder(TestBean).naming(Naming.CAMEL_TO_SNAKE)
+        keys.each { k ->
+            builder.add(new TestBean(pInt: k, string: String.valueOf((char) (96 + k)), bigDecimal: k as BigDecimal))
+        }
+        return builder.build()
+    }
+
+}
@@ -0,0 +1,152 @@
+/*
+ * The MIT License
+ * Copyright (c) 2018 sciencesakura
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.sciencesakura.dbunit.dataset.bean
+
+import org.dbunit.dataset.Column
+import org.dbunit.dataset.DataSetException
+import org.dbunit.dataset.DefaultDataSet
+import org.dbunit.dataset.DefaultTable
+import org.dbunit.dataset.DefaultTableMetaData
+import org.dbunit.dataset.IDataSet
+import org.dbunit.dataset.ITable
+import org.dbunit.dataset.csv.CsvDataSet
+import org.dbunit.dataset.datatype.DataType
+import org.dbunit.dataset.xml.FlatXmlDataSetBuilder
+import org.junit.Rule
+import org.junit.Test
+import org.junit.rules.TemporaryFolder
+
+import java.nio.channels.Channels
+import java.time.LocalDate
+import java.time.LocalDateTime
+import java.time.LocalTime
+import java.util.zip.GZIPInputStream
+
+import static groovy.test.GroovyAssert.shouldFail
+import static org.dbunit.Assertion.assertEquals
+import static org.hamcrest.Matchers.containsString
+import static org.hamcrest.Matchers.is
+import static org.junit.Assert.assertThat
+
+class TableExporterTest {
+
+    private static final IDataSet expectedDataSet
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder()
+
+    static {
+        def expectedDataLocation = BeanTableTest.getResource("${BeanTableTest.simpleName}.csv")
+        expectedDataSet = new CsvDataSet(new File(expectedDataLocation.toURI()))
+    }
+
+    @Test
+    void exports_data_set_in_csv() {
+        def expected = beanTable()
+        def directory = temporaryFolder.newFolder().toPath()
+        new TableExporter.Builder(ExportFormat.CSV).build().export(new DefaultDataSet(expected), directory)
+        def actual = new CsvDataSet(directory.toFile()).getTable('n_rows_table')
+        assertEquals(expected, actual)
+    }
+
+    @Test
+    void exports_data_set_in_flat_xml() {
+        def expected = beanTable()
+        def file = temporaryFolder.newFile().toPath()
+        new TableExporter.Builder(ExportFormat.FLAT_XML).build().export(new DefaultDataSet(expected), file)
+        def actual = new FlatXmlDataSetBuilder().setColumnSensing(true).build(file.toFile()).getTable('n_rows_table')
+        assertEquals(expected, actual)
+    }
+
+    @Test
+    void escapes_strings() {
+        def value = 'a "quoted" \\ <value> & \'more\'\n'
+        def table = new BeanTable.Builder(TestBean, 'escaped').naming(Naming.CAMEL_TO_SNAKE)
+            .add(new TestBean(string: value))
+            .build()
+        def directory = temporaryFolder.newFolder().toPath()
+        new TableExporter.Builder(ExportFormat.CSV).build().export(new DefaultDataSet(table), directory)
+        def file = temporaryFolder.newFile().toPath()
+        new TableExporter.Builder(ExportFormat.FLAT_XML).build().export(table, file)
+        def csv = new CsvDataSet(directory.toFile()).getTable('escaped')
+        def xml = new FlatXmlDataSetBuilder().setColumnSensing(true).build(file.toFile()).getTable('escaped')
+        assertThat(csv.getValue(0, 'string'), is(value))
+        assertThat(xml.getValue(0, 'string'), is(value))
+    }
+
+    @Test
+    void exports_java_time_values_of_non_bean_table() {
+        def table = new DefaultTable(new DefaultTableMetaData('times', [
+            new Column('d', DataType.DATE),
+            new Column('t', DataType.TIME),
+            new Column('ts', DataType.TIMESTAMP),
+        ] as Column[]))
+        table.addRow([LocalDate.of(2000, 1, 2), LocalTime.of(1, 2, 3), LocalDateTime.of(2000, 1, 2, 3, 4, 5)] as Object[])
+        def out = new ByteArrayOutputStream()
+        new TableExporter.Builder(ExportFormat.CSV).build().export(table, Channels.newChannel(out))
+        def lines = out.toString('UTF-8').readLines()
+        assertThat(lines[1], is('"2000-01-02","01:02:03","2000-01-02 03:04:05.0"'))
+    }
+
+    @Test
+    void exports_table_without_columns() {
+        def table = new DefaultTable('empty')
+        table.addRow([] as Object[])
+        table.addRow([] as Object[])
+        def out = new ByteArrayOutputStream()
+        new TableExporter.Builder(ExportFormat.FLAT_XML).build().export(table, Channels.newChannel(out))
+        assertThat(out.toString('UTF-8').readLines().count { it.trim() == '<empty/>' }, is(2))
+    }
+
+    @Test
+    void rejects_forward_only_table_without_columns() {
+        def table = [
+            getTableMetaData: { new DefaultTableMetaData('forward_only', new Column[0]) },
+            getRowCount: { throw new UnsupportedOperationException() },
+        ] as ITable
+        def e = shouldFail(DataSetException) {
+            new TableExporter.Builder(ExportFormat.CSV).build().export(table, Channels.newChannel(new ByteArrayOutputStream()))
+        }
+        assertThat(e.message, containsString('forward_only'))
+    }
+
+    @Test
+    void compresses_in_gzip() {
+        def table = beanTable()
+        def plain = new ByteArrayOutputStream()
+        def compressed = new ByteArrayOutputStream()
+        new TableExporter.Builder(ExportFormat.CSV).bufferSize(16).build()
+            .export(table, Channels.newChannel(plain))
+        new TableExporter.Builder(ExportFormat.CSV).bufferSize(16).gzip().build()
+            .export(table, Channels.newChannel(compressed))
+        def actual = new GZIPInputStream(new ByteArrayInputStream(compressed.toByteArray())).bytes
+        assertThat(actual, is(plain.toByteArray()))
+    }
+
+    private static BeanTable<TestBean> beanTable() {
+        def beans = new BeanMapper.Builder(TestBean).naming(Naming.CAMEL_TO_SNAKE).build()
+            .toList(expectedDataSet.getTable('n_rows_table'))
+        return new BeanTable.Builder(TestBean, 'n_rows_table').naming(Naming.CAMEL_TO_SNAKE).add(beans).build()
+    }
+
+}
@@ -0,0 +1,97 @@
+/*
+ * The MIT License
+ * Copyright (c) 2018 sciencesakura
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.sciencesakura.dbunit.dataset.bean
+
+import org.dbunit.dataset.IDataSet
+import org.dbunit.dataset.csv.CsvDataSet
+import org.junit.Test
+
+import static org.hamcrest.Matchers.is
+import static org.hamcrest.Matchers.not
+import static org.junit.Assert.assertThat
+
+class TableFingerprintTest {
+
+    private static final IDataSet expectedDataSet
+
+    static {
+        def expectedDataLocation = BeanTableTest.getResource("${BeanTableTest.simpleName}.csv")
+        expectedDataSet = new CsvDataSet(new File(expectedDataLocation.toURI()))
+    }
+
+    @Test
+    void matches_typed_fingerprint_of_expected_table() {
+        def expected = expectedDataSet.getTable('n_rows_table')
+        def actual = beanTable(beans())
+        [false, true].each { orderIndependent ->
+            def expectedFingerprint = TableFingerprint.of(expected, actual.tableMetaData, orderIndependent)
+            def actualFingerprint = TableFingerprint.of(actual, orderIndependent)
+            assertThat(actualFingerprint, is(expectedFingerprint))
+            assertThat(actualFingerprint.rowCount, is(expected.rowCount))
+        }
+    }
+
+    @Test
+    void depends_on_row_order_unless_order_independent() {
+        def beans = beans()
+        def table = beanTable(beans)
+        def reversed = beanTable(beans.reverse())
+        assertThat(TableFingerprint.of(reversed, false), is(not(TableFingerprint.of(table, false))))
+        assertThat(TableFingerprint.of(reversed, true), is(TableFingerprint.of(table, true)))
+    }
+
+    @Test
+    void differs_only_in_changed_column() {
+        def beans = beans()
+        def before = TableFingerprint.of(beanTable(beans), false)
+        beans[1].string = 'changed'
+        def after = TableFingerprint.of(beanTable(beans), false)
+        assertThat(after.tableHash, is(not(before.tableHash)))
+        assertThat(after.getColumnHash('string'), is(not(before.getColumnHash('STRING'))))
+        after.columnHashes.each { name, hash ->
+            if (name != 'STRING') assertThat(hash, is(before.getColumnHash(name)))
+        }
+    }
+
+    @Test
+    void reflects_values_moved_between_rows() {
+        def beans = beans()
+        def before = TableFingerprint.of(beanTable(beans), true)
+        def string = beans[0].string
+        beans[0].string = beans[1].string
+        beans[1].string = string
+        def after = TableFingerprint.of(beanTable(beans), true)
+        assertThat(after.getColumnHash('string'), is(before.getColumnHash('string')))
+        assertThat(after.tableHash, is(not(before.tableHash)))
+    }
+
+    private static List<TestBean> beans() {
+        return new BeanMapper.Builder(TestBean).naming(Naming.CAMEL_TO_SNAKE).build()
+            .toList(expectedDataSet.getTable('n_rows_table'))
+    }
+
+    private static BeanTable<TestBean> beanTable(List<TestBean> beans) {
+        return new BeanTable.Builder(TestBean, 'n_rows_table').naming(Naming.CAMEL_TO_SNAKE).add(beans).build()
+    }
+
+}
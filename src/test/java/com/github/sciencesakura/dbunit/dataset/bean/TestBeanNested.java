@@ -0,0 +1,96 @@
+/*
+ * The MIT License
+ * Copyright (c) 2018 sciencesakura
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.sciencesakura.dbunit.dataset.bean;
+
+public class TestBeanNested {
+
+    private int id;
+
+    private Address address;
+
+    public TestBeanNested(int id, Address address) {
+        this.id = id;
+        this.address = address;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public Address getAddress() {
+        return address;
+    }
+
+    public static class Address {
+
+        private String city;
+
+        private Location location;
+
+        public Address(String city, Location location) {
+            this.city = city;
+            this.location = location;
+        }
+
+        public String getCity() {
+            return city;
+        }
+
+        public Location getLocation() {
+            return location;
+        }
+
+    }
+
+    public static class Location {
+
+        private double latitude;
+
+        public Location(double latitude) {
+            this.latitude = latitude;
+        }
+
+        public double getLatitude() {
+            return latitude;
+        }
+
+    }
+
+    public static class Tagged {
+
+        private final Tag tag;
+
+        public Tagged(Tag tag) {
+            this.tag = tag;
+        }
+
+        public Tag getTag() {
+            return tag;
+        }
+
+    }
+
+    public static class Tag {
+    }
+
+}